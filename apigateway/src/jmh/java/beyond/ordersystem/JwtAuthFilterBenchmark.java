@@ -0,0 +1,86 @@
+package beyond.ordersystem;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// gateway 요청당 인증 비용 비교
+// - newParserPerRequest: 이전 방식 (요청마다 parser/서명 key 생성 후 서명 검증)
+// - sharedParser: parser를 재사용하고 서명 검증은 매번 수행
+// - filterCachedToken: JwtAuthFilter 전체 (검증된 token 캐시 hit, digest 계산 + header 추가 포함)
+// - filterAllowedPath: 인증 없이 통과하는 경로 (mock 요청 생성 등 공통 비용, 위 결과에서 빼고 비교)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthFilterBenchmark {
+
+    private static final byte[] KEY = "jwt-auth-filter-benchmark-secret-key-for-hs512-signature-0123456".getBytes(StandardCharsets.UTF_8);
+    private static final String SECRET = Base64.getEncoder().encodeToString(KEY);
+    private static final GatewayFilterChain CHAIN = exchange -> Mono.empty();
+
+    private String token;
+    private JwtParser jwtParser;
+    private JwtAuthFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        token = Jwts.builder()
+                .setSubject("user@naver.com")
+                .claim("role", "USER")
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(KEY), SignatureAlgorithm.HS512)
+                .compact();
+        jwtParser = Jwts.parserBuilder().setSigningKey(SECRET).build();
+
+        filter = new JwtAuthFilter();
+        ReflectionTestUtils.setField(filter, "secretKeyAt", SECRET);
+        ReflectionTestUtils.setField(filter, "verifiedTokenCacheMaxSize", 100_000L);
+        filter.init();
+    }
+
+    @Benchmark
+    public Claims newParserPerRequest() {
+        return Jwts.parserBuilder().setSigningKey(SECRET).build().parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims sharedParser() {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public MockServerWebExchange filterCachedToken() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/ordering/list")
+                .header("Authorization", "Bearer " + token));
+        filter.filter(exchange, CHAIN).block();
+        return exchange;
+    }
+
+    @Benchmark
+    public MockServerWebExchange filterAllowedPath() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/product/list")
+                .header("Authorization", "Bearer " + token));
+        filter.filter(exchange, CHAIN).block();
+        return exchange;
+    }
+}
@@ -1,31 +1,92 @@
 package beyond.ordersystem;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import jakarta.annotation.PostConstruct;
 import org.apache.http.HttpHeaders;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
-public class JwtAuthFilter implements GlobalFilter {
+public class JwtAuthFilter implements GlobalFilter, Ordered {
+
+    // 검증된 사용자 email을 뒤쪽 필터(rate limit 등)에 전달하기 위한 exchange attribute
+    public static final String USER_EMAIL_ATTRIBUTE = "verifiedUserEmail";
 
     @Value("${jwt.secretKeyAt}")
     private String secretKeyAt;
 
+    // 검증이 끝난 token 캐시 최대 개수
+    @Value("${jwt.verified-token-cache.max-size:100000}")
+    private long verifiedTokenCacheMaxSize;
+
+    // token 만료 판단(jwt 검증, 캐시 만료)에 사용하는 시계
+    private Clock clock = Clock.systemUTC();
+
+    private JwtParser jwtParser;
+    // key: token의 sha-256 digest, value: 검증이 끝난 payload (token 만료 시각에 함께 만료)
+    private Cache<String, VerifiedToken> verifiedTokenCache;
+
     private static final List<String> ALLOWED_PATH=List.of(
-            "/member/create", "/member/doLogin", "/member/refresh-at", "/product/list"
+            "/member/create", "/member/doLogin", "/member/refresh-at", "/product/list", "/product/list/scroll"
     );
     private static final List<String> ADMIN_ONLY_PATH=List.of(
-            "/member/list", "/product/create"
+            "/member/list", "/product/create", "/ordering/export"
     );
 
+    // 요청마다 parser와 서명 key를 새로 만들지 않도록 빈 생성 직후 한 번만 생성
+    @PostConstruct
+    public void init() {
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(secretKeyAt)
+                .setClock(() -> Date.from(clock.instant()))
+                .build();
+        verifiedTokenCache = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheMaxSize)
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        long remainMillis = value.expiresAt() - clock.millis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         // token 검증
@@ -43,14 +104,14 @@ public class JwtAuthFilter implements GlobalFilter {
 
             String token = bearerToken.substring(7);
 
-            // token 검증 및 payload 추출
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(secretKeyAt)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            String email = claims.getSubject();
-            String role = claims.get("role", String.class);
+            // 이미 검증된 token이면 서명 검증 없이 캐시된 payload 사용
+            String tokenDigest = digest(token);
+            VerifiedToken verifiedToken = verifiedTokenCache.getIfPresent(tokenDigest);
+            if (verifiedToken == null) {
+                verifiedToken = verify(token, tokenDigest);
+            }
+            String email = verifiedToken.email();
+            String role = verifiedToken.role();
 
             // admin 권한 있어야 하는 url 검증
             if (ADMIN_ONLY_PATH.contains(urlPath) && !role.equals("ADMIN")) {
@@ -64,6 +125,7 @@ public class JwtAuthFilter implements GlobalFilter {
             ServerWebExchange serverWebExchange = exchange.mutate()
                     .request(r -> r.header("X-User-Email", email)
                             .header("X-User-Role", role)).build();
+            serverWebExchange.getAttributes().put(USER_EMAIL_ATTRIBUTE, email);
 
             return chain.filter(serverWebExchange);
         } catch (Exception e) {
@@ -73,4 +135,39 @@ public class JwtAuthFilter implements GlobalFilter {
             return exchange.getResponse().setComplete();
         }
     }
+
+    // 인증 이후에 rate limit 필터가 실행되도록 가장 먼저 실행
+    @Override
+    public int getOrder() {
+        return -200;
+    }
+
+    // token 검증 및 payload 추출
+    private VerifiedToken verify(String token, String tokenDigest) {
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        Date expiration = claims.getExpiration();
+        VerifiedToken verifiedToken = new VerifiedToken(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                expiration == null ? 0 : expiration.getTime()
+        );
+        // 만료 시각이 없는 token은 캐싱하지 않음
+        if (expiration != null) {
+            verifiedTokenCache.put(tokenDigest, verifiedToken);
+        }
+        return verifiedToken;
+    }
+
+    // token 원문 대신 digest를 캐시 key로 사용
+    private String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record VerifiedToken(String email, String role, long expiresAt) {
+    }
 }
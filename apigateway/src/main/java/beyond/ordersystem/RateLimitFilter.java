@@ -0,0 +1,149 @@
+package beyond.ordersystem;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+// 사용자(비로그인 요청은 client ip)별 처리율 제한 필터
+// - token bucket은 redis에 두어 여러 gateway pod가 같은 한도를 공유
+// - 요청마다 redis를 호출하지 않도록 token을 묶음으로 빌려와(lease) 로컬에서 먼저 소진
+// - redis 장애 시에는 요청을 막지 않고 통과시킴 (fail-open)
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+    private static final String KEY_PREFIX = "rate-limit:";
+    // 빌려온 token은 짧은 시간 안에만 사용 (오래 묵혀두면 pod 간 한도가 틀어짐)
+    private static final long LEASE_VALIDITY_MILLIS = 1000;
+
+    // 요청한 개수만큼(남은 만큼) token을 꺼내고 실제로 꺼낸 개수를 반환
+    // 시각은 redis 서버 기준으로 계산해서 gateway pod 간 시계 차이 영향을 받지 않음
+    private static final RedisScript<Long> TAKE_TOKENS_SCRIPT = RedisScript.of("""
+            local rate = tonumber(ARGV[1])
+            local capacity = tonumber(ARGV[2])
+            local requested = tonumber(ARGV[3])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(bucket[1]) or capacity
+            local ts = tonumber(bucket[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+            local granted = math.min(requested, math.floor(tokens))
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens - granted), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate * 1000) + 1000)
+            return granted
+            """, Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RateLimitProperties properties;
+    // 신뢰하는 proxy가 있을 때만 X-Forwarded-For에서 client ip를 찾음 (없으면 null)
+    private final XForwardedRemoteAddressResolver forwardedResolver;
+    // key: bucket 이름 + 사용자, value: redis에서 빌려온 token
+    private final Cache<String, Lease> leases = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofMinutes(1))
+            .build();
+
+    public RateLimitFilter(ReactiveStringRedisTemplate redisTemplate, RateLimitProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.forwardedResolver = properties.getTrustedProxies() > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(properties.getTrustedProxies())
+                : null;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        RateLimitProperties.Limit limit = properties.resolve(exchange.getRequest().getURI().getRawPath());
+        String key = limit.getBucketName() + ":" + identity(exchange);
+
+        Lease lease = leases.get(key, k -> new Lease());
+        if (lease.tryAcquire()) {
+            return chain.filter(exchange);
+        }
+
+        // 저속 경로는 한 pod가 한도를 독차지하지 않도록 초당 충전량 이하로만 빌려옴
+        int leaseSize = Math.max(1, Math.min(properties.getLeaseSize(), limit.getReplenishRate()));
+        return redisTemplate.execute(TAKE_TOKENS_SCRIPT, List.of(KEY_PREFIX + key), List.of(
+                        String.valueOf(limit.getReplenishRate()),
+                        String.valueOf(limit.getBurstCapacity()),
+                        String.valueOf(leaseSize)))
+                .next()
+                .defaultIfEmpty(0L)
+                .map(granted -> {
+                    if (granted <= 0) {
+                        return false;
+                    }
+                    // 이번 요청에 하나 사용하고 나머지는 로컬에 보관
+                    lease.refill(granted.intValue() - 1);
+                    return true;
+                })
+                .onErrorResume(e -> {
+                    log.warn("rate limit redis 호출 실패, 요청을 통과시킵니다: {}", e.getMessage());
+                    return Mono.just(true);
+                })
+                .flatMap(allowed -> {
+                    if (allowed) {
+                        return chain.filter(exchange);
+                    }
+                    exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS); // 429
+                    return exchange.getResponse().setComplete();
+                });
+    }
+
+    // 인증된 요청은 JwtAuthFilter가 검증한 email, 그 외에는 client ip 기준
+    // (client가 임의로 보낸 X-User-Email, X-Forwarded-For 헤더는 신뢰하지 않음)
+    // 신뢰하는 proxy 뒤에 있으면 그 proxy들이 붙인 X-Forwarded-For 값만 사용
+    private String identity(ServerWebExchange exchange) {
+        String email = exchange.getAttribute(JwtAuthFilter.USER_EMAIL_ATTRIBUTE);
+        if (email != null) {
+            return email;
+        }
+        InetSocketAddress remoteAddress = forwardedResolver != null
+                ? forwardedResolver.resolve(exchange)
+                : exchange.getRequest().getRemoteAddress();
+        return "ip:" + (remoteAddress == null ? "unknown" : remoteAddress.getHostString());
+    }
+
+    // 인증 필터 바로 다음에 실행
+    @Override
+    public int getOrder() {
+        return -150;
+    }
+
+    private static class Lease {
+        private int remaining;
+        private long expiresAt;
+
+        synchronized boolean tryAcquire() {
+            if (remaining <= 0 || System.currentTimeMillis() > expiresAt) {
+                return false;
+            }
+            remaining--;
+            return true;
+        }
+
+        synchronized void refill(int tokens) {
+            remaining = tokens;
+            expiresAt = System.currentTimeMillis() + LEASE_VALIDITY_MILLIS;
+        }
+    }
+}
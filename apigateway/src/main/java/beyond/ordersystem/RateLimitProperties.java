@@ -0,0 +1,119 @@
+package beyond.ordersystem;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// gateway.rate-limit 설정 (token bucket 방식 처리율 제한)
+@Component
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    // redis에서 한 번에 빌려오는 token 수
+    private int leaseSize = 10;
+    // gateway 앞단의 신뢰하는 proxy 수 (X-Forwarded-For를 뒤에서부터 이 수만큼만 신뢰, 0이면 접속한 주소 사용)
+    private int trustedProxies = 0;
+    private Limit defaultLimit = new Limit();
+    private List<RouteLimit> routes = new ArrayList<>();
+
+    // 요청 경로와 가장 길게 일치하는 경로 설정을 찾고, 없으면 기본 설정 사용
+    public Limit resolve(String urlPath) {
+        RouteLimit matched = null;
+        for (RouteLimit route : routes) {
+            if (urlPath.startsWith(route.getPath())
+                    && (matched == null || route.getPath().length() > matched.getPath().length())) {
+                matched = route;
+            }
+        }
+        return matched == null ? defaultLimit : matched;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getLeaseSize() {
+        return leaseSize;
+    }
+
+    public void setLeaseSize(int leaseSize) {
+        this.leaseSize = leaseSize;
+    }
+
+    public int getTrustedProxies() {
+        return trustedProxies;
+    }
+
+    public void setTrustedProxies(int trustedProxies) {
+        this.trustedProxies = trustedProxies;
+    }
+
+    public Limit getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(Limit defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public List<RouteLimit> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<RouteLimit> routes) {
+        this.routes = routes;
+    }
+
+    public static class Limit {
+        // 초당 충전되는 token 수
+        private int replenishRate = 20;
+        // bucket에 쌓일 수 있는 최대 token 수 (순간 허용량)
+        private int burstCapacity = 40;
+
+        // bucket을 구분하기 위한 이름 (기본 설정은 경로 구분 없이 하나의 bucket 사용)
+        public String getBucketName() {
+            return "default";
+        }
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+    }
+
+    public static class RouteLimit extends Limit {
+        // 요청 경로 prefix
+        private String path;
+
+        @Override
+        public String getBucketName() {
+            return path;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+    }
+}
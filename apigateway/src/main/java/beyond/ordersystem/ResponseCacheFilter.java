@@ -0,0 +1,171 @@
+package beyond.ordersystem;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 공개 GET 조회(상품 목록 등) 응답을 gateway에서 짧게 캐싱하는 필터
+// - 캐시 hit이면 하위 서비스로 요청을 보내지 않고 바로 응답
+// - 같은 key로 동시에 들어온 miss 요청은 하나만 하위 서비스로 보내고 나머지는 그 결과를 함께 사용
+// - 200 응답만 캐싱 (Cache-Control: no-store, private 응답은 캐싱하지 않음)
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    // 응답 내용에 영향을 주는 query parameter (page, size, sort, 검색 조건)
+    private static final List<String> KEY_PARAMS = List.of("category", "page", "productName", "size", "sort");
+
+    private final List<String> cachedPaths;
+    private final Duration waitTimeout;
+    private final Cache<String, CachedResponse> cache;
+    // key별로 하위 서비스에 요청 중인 응답 (동시 miss 병합용)
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public ResponseCacheFilter(@Value("${gateway.response-cache.paths:/product/list}") List<String> cachedPaths,
+                               @Value("${gateway.response-cache.max-size:1000}") long maxSize,
+                               @Value("${gateway.response-cache.ttl-millis:3000}") long ttlMillis,
+                               @Value("${gateway.response-cache.wait-timeout-millis:3000}") long waitTimeoutMillis) {
+        this.cachedPaths = cachedPaths;
+        this.waitTimeout = Duration.ofMillis(waitTimeoutMillis);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .build();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String urlPath = exchange.getRequest().getURI().getRawPath();
+        if (exchange.getRequest().getMethod() != HttpMethod.GET || !cachedPaths.contains(urlPath)) {
+            return chain.filter(exchange);
+        }
+
+        String key = cacheKey(urlPath, exchange.getRequest().getQueryParams());
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return write(exchange.getResponse(), cached);
+        }
+
+        Sinks.One<CachedResponse> sink = Sinks.one();
+        Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, sink);
+        if (leader != null) {
+            // 먼저 들어온 요청의 응답을 기다렸다가 사용 (실패하거나 캐싱할 수 없는 응답이면 직접 요청)
+            // write()는 값 없이 완료되므로 결과가 있는지를 먼저 정하고 분기 (switchIfEmpty를 쓰면 응답을 쓴 뒤에도 직접 요청하게 됨)
+            return leader.asMono()
+                    .timeout(waitTimeout, Mono.empty())
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(response -> response.isPresent()
+                            ? write(exchange.getResponse(), response.get())
+                            : chain.filter(exchange));
+        }
+
+        exchange.getResponse().getHeaders().set("X-Cache", "MISS");
+        ServerWebExchange cachingExchange = exchange.mutate()
+                .response(new CachingResponseDecorator(exchange.getResponse(), key, sink))
+                .build();
+        return chain.filter(cachingExchange)
+                .doFinally(signal -> {
+                    // 캐싱되지 않고 끝난 경우(오류, 200 이외의 응답 등) 대기 중인 요청을 풀어줌
+                    inFlight.remove(key, sink);
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    // path + 정렬된 query parameter로 key를 만들어 parameter 순서가 달라도 같은 key가 되도록 함
+    private String cacheKey(String urlPath, MultiValueMap<String, String> queryParams) {
+        StringBuilder key = new StringBuilder(urlPath).append('?');
+        for (String param : KEY_PARAMS) {
+            List<String> values = queryParams.get(param);
+            if (values != null) {
+                for (String value : values) {
+                    key.append(param).append('=').append(value).append('&');
+                }
+            }
+        }
+        return key.toString();
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, CachedResponse cached) {
+        response.setStatusCode(cached.status());
+        if (cached.contentType() != null) {
+            response.getHeaders().setContentType(cached.contentType());
+        }
+        response.getHeaders().set("X-Cache", "HIT");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    // 하위 서비스 응답을 client에 쓰는 NettyWriteResponseFilter(order -1)보다 먼저 실행되어야 응답을 가로챌 수 있음
+    @Override
+    public int getOrder() {
+        return -100;
+    }
+
+    // 하위 서비스 응답을 client에 쓰면서 body를 복사해 캐시에 저장
+    private class CachingResponseDecorator extends ServerHttpResponseDecorator {
+        private final String key;
+        private final Sinks.One<CachedResponse> sink;
+
+        CachingResponseDecorator(ServerHttpResponse delegate, String key, Sinks.One<CachedResponse> sink) {
+            super(delegate);
+            this.key = key;
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            if ((status != null && status.value() != HttpStatus.OK.value()) || isNotCacheable(getHeaders().getCacheControl())) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(Flux.from(body))
+                    .flatMap(dataBuffer -> {
+                        byte[] bytes = new byte[dataBuffer.readableByteCount()];
+                        dataBuffer.read(bytes);
+                        DataBufferUtils.release(dataBuffer);
+
+                        CachedResponse cachedResponse = new CachedResponse(HttpStatus.OK, getHeaders().getContentType(), bytes);
+                        cache.put(key, cachedResponse);
+                        inFlight.remove(key, sink);
+                        sink.tryEmitValue(cachedResponse);
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+        }
+    }
+
+    // 하위 서비스가 캐싱을 허용하지 않은 응답 (사용자별 응답 등)
+    private static boolean isNotCacheable(String cacheControl) {
+        if (cacheControl == null) {
+            return false;
+        }
+        String value = cacheControl.toLowerCase(Locale.ROOT);
+        return value.contains("no-store") || value.contains("private");
+    }
+
+    private record CachedResponse(HttpStatusCode status, MediaType contentType, byte[] body) {
+    }
+}
@@ -0,0 +1,131 @@
+package beyond.ordersystem;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtAuthFilterTest {
+
+    private static final byte[] KEY = "jwt-auth-filter-test-secret-key-for-hs512-signature-0123456789ab".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] OTHER_KEY = "another-secret-key-that-did-not-sign-the-tokens-0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    // jwt의 exp는 초 단위이므로 초 경계에서 시작
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    private JwtAuthFilter filter;
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        filter = new JwtAuthFilter();
+        ReflectionTestUtils.setField(filter, "secretKeyAt", Base64.getEncoder().encodeToString(KEY));
+        ReflectionTestUtils.setField(filter, "verifiedTokenCacheMaxSize", 100L);
+        filter.setClock(Clock.fixed(START, ZoneOffset.UTC));
+        filter.init();
+        chain = mock(GatewayFilterChain.class);
+        when(chain.filter(any())).thenReturn(Mono.empty());
+    }
+
+    private String token(Date expiration) {
+        JwtBuilder builder = Jwts.builder()
+                .setSubject("user@naver.com")
+                .claim("role", "USER")
+                .signWith(Keys.hmacShaKeyFor(KEY), SignatureAlgorithm.HS512);
+        if (expiration != null) {
+            builder.setExpiration(expiration);
+        }
+        return builder.compact();
+    }
+
+    private MockServerWebExchange request(String token) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/ordering/list")
+                .header("Authorization", "Bearer " + token));
+    }
+
+    // 이후 요청은 서명 검증에 실패하도록 parser 교체 (캐시된 token만 통과)
+    private void rotateSigningKey() {
+        ReflectionTestUtils.setField(filter, "jwtParser", Jwts.parserBuilder().setSigningKey(OTHER_KEY).build());
+    }
+
+    private Date secondsFromStart(long seconds) {
+        return Date.from(START.plusSeconds(seconds));
+    }
+
+    // filter가 보는 현재 시각을 START 기준으로 이동 (jwt 검증, 검증된 token 캐시 모두 같은 시계 사용)
+    private void advanceTo(Duration elapsed) {
+        filter.setClock(Clock.fixed(START.plus(elapsed), ZoneOffset.UTC));
+    }
+
+    @Test
+    void reusesVerifiedTokenUntilExpiration() {
+        String token = token(secondsFromStart(60));
+        filter.filter(request(token), chain).block();
+        rotateSigningKey();
+        advanceTo(Duration.ofSeconds(59));
+
+        MockServerWebExchange exchange = request(token);
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+        verify(chain, times(2)).filter(any());
+    }
+
+    @Test
+    void cachedTokenExpiresAtExp() {
+        String token = token(secondsFromStart(2));
+        filter.filter(request(token), chain).block();
+
+        advanceTo(Duration.ofMillis(2_001));
+        MockServerWebExchange exchange = request(token);
+        filter.filter(exchange, chain).block();
+
+        // 캐시에서도 만료되어 다시 검증하고, 만료된 token이므로 거부
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verify(chain, times(1)).filter(any());
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        MockServerWebExchange exchange = request(token(secondsFromStart(-1)));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void doesNotCacheTokenWithoutExpiration() {
+        String token = token(null);
+        filter.filter(request(token), chain).block();
+        rotateSigningKey();
+
+        MockServerWebExchange exchange = request(token);
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+}
@@ -0,0 +1,150 @@
+package beyond.ordersystem;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimitFilterTest {
+
+    private ReactiveStringRedisTemplate redisTemplate;
+    private GatewayFilterChain chain;
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        chain = mock(GatewayFilterChain.class);
+        when(chain.filter(any())).thenReturn(Mono.empty());
+        properties = new RateLimitProperties();
+        properties.setLeaseSize(10);
+    }
+
+    // redis 호출마다 차례로 빌려줄 token 수
+    private void grant(long first, long... next) {
+        Object[] nextResults = new Object[next.length];
+        for (int i = 0; i < next.length; i++) {
+            nextResults[i] = Flux.just(next[i]);
+        }
+        doReturn(Flux.just(first), nextResults)
+                .when(redisTemplate).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    private MockServerWebExchange exchange(String remoteIp, String forwardedFor) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/product/list")
+                .remoteAddress(new InetSocketAddress(remoteIp, 50000));
+        if (forwardedFor != null) {
+            request.header("X-Forwarded-For", forwardedFor);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> redisKeys(int calls) {
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate, times(calls)).execute(any(RedisScript.class), keys.capture(), anyList());
+        return keys.getAllValues().stream().map(list -> list.get(0)).toList();
+    }
+
+    @Test
+    void leasedTokensAreSpentLocallyBeforeCallingRedisAgain() {
+        grant(10, 10);
+        RateLimitFilter filter = new RateLimitFilter(redisTemplate, properties);
+
+        // 첫 요청에서 10개를 빌려와 하나 사용하고, 나머지 9개는 redis 호출 없이 사용
+        for (int i = 0; i < 10; i++) {
+            filter.filter(exchange("10.0.0.1", null), chain).block();
+        }
+        redisKeys(1);
+
+        // 빌려온 token을 다 쓰면 다시 빌려옴
+        filter.filter(exchange("10.0.0.1", null), chain).block();
+        redisKeys(2);
+        verify(chain, times(11)).filter(any());
+    }
+
+    @Test
+    void rejectsWhenRedisGrantsNoTokens() {
+        grant(0);
+        RateLimitFilter filter = new RateLimitFilter(redisTemplate, properties);
+        MockServerWebExchange exchange = exchange("10.0.0.1", null);
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        verify(chain, never()).filter(any());
+    }
+
+    @Test
+    void emptyLeaseIsRefilledFromRedis() {
+        // 한 개만 빌려오면 로컬에 남는 token이 없어 다음 요청은 다시 redis에서 확인
+        grant(1, 0);
+        RateLimitFilter filter = new RateLimitFilter(redisTemplate, properties);
+        MockServerWebExchange first = exchange("10.0.0.1", null);
+        MockServerWebExchange second = exchange("10.0.0.1", null);
+
+        filter.filter(first, chain).block();
+        filter.filter(second, chain).block();
+
+        assertThat(first.getResponse().getStatusCode()).isNull();
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        redisKeys(2);
+    }
+
+    @Test
+    void passesRequestsWhenRedisFails() {
+        doReturn(Flux.error(new RedisConnectionFailureException("down")))
+                .when(redisTemplate).execute(any(RedisScript.class), anyList(), anyList());
+        RateLimitFilter filter = new RateLimitFilter(redisTemplate, properties);
+
+        filter.filter(exchange("10.0.0.1", null), chain).block();
+
+        verify(chain).filter(any());
+    }
+
+    @Test
+    void ignoresClientSuppliedForwardedForWithoutTrustedProxy() {
+        grant(1, 1);
+        RateLimitFilter filter = new RateLimitFilter(redisTemplate, properties);
+
+        // X-Forwarded-For를 바꿔 보내도 접속한 주소 기준의 같은 bucket 사용
+        filter.filter(exchange("10.0.0.1", "1.1.1.1"), chain).block();
+        filter.filter(exchange("10.0.0.1", "2.2.2.2"), chain).block();
+
+        assertThat(redisKeys(2)).containsOnly("rate-limit:default:ip:10.0.0.1");
+    }
+
+    @Test
+    void usesAddressAppendedByTrustedProxy() {
+        properties.setTrustedProxies(1);
+        grant(1, 1);
+        RateLimitFilter filter = new RateLimitFilter(redisTemplate, properties);
+
+        // 신뢰하는 proxy가 마지막에 붙인 값만 사용 (client가 앞에 끼워 넣은 값은 무시)
+        filter.filter(exchange("10.0.0.100", "9.9.9.9, 1.1.1.1"), chain).block();
+        filter.filter(exchange("10.0.0.100", "9.9.9.9, 2.2.2.2"), chain).block();
+
+        assertThat(redisKeys(2)).containsExactly("rate-limit:default:ip:1.1.1.1", "rate-limit:default:ip:2.2.2.2");
+    }
+}
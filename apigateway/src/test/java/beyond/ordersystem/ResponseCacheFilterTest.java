@@ -0,0 +1,138 @@
+package beyond.ordersystem;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheFilterTest {
+
+    private static final String BODY = "{\"content\":[]}";
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private ResponseCacheFilter filter(long waitTimeoutMillis) {
+        return new ResponseCacheFilter(List.of("/product/list"), 100, 60_000, waitTimeoutMillis);
+    }
+
+    private MockServerWebExchange request() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/product/list").queryParam("page", "0"));
+    }
+
+    // 하위 서비스 응답 (gate가 열린 뒤에 응답)
+    private GatewayFilterChain upstream(HttpStatus status, Consumer<ServerHttpResponse> headers, Mono<Void> gate) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            return gate.then(Mono.defer(() -> {
+                response.setStatusCode(status);
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                headers.accept(response);
+                return response.writeWith(Mono.just(response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+            }));
+        };
+    }
+
+    private GatewayFilterChain upstream(HttpStatus status, Consumer<ServerHttpResponse> headers) {
+        return upstream(status, headers, Mono.empty());
+    }
+
+    @Test
+    void servesSecondRequestFromCache() {
+        ResponseCacheFilter filter = filter(3000);
+        GatewayFilterChain chain = upstream(HttpStatus.OK, response -> {
+        });
+        MockServerWebExchange first = request();
+        MockServerWebExchange second = request();
+
+        filter.filter(first, chain).block();
+        filter.filter(second, chain).block();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(first.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+        assertThat(second.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+    }
+
+    @Test
+    void coalescesConcurrentMissesIntoOneUpstreamCall() {
+        ResponseCacheFilter filter = filter(3000);
+        Sinks.Empty<Void> gate = Sinks.empty();
+        GatewayFilterChain chain = upstream(HttpStatus.OK, response -> {
+        }, gate.asMono());
+        MockServerWebExchange leader = request();
+        MockServerWebExchange waiter = request();
+
+        CompletableFuture<Void> leaderDone = filter.filter(leader, chain).toFuture();
+        CompletableFuture<Void> waiterDone = filter.filter(waiter, chain).toFuture();
+        assertThat(waiterDone).isNotDone();
+        gate.tryEmitEmpty();
+        leaderDone.join();
+        waiterDone.join();
+
+        // 대기하던 요청은 응답을 쓴 뒤 하위 서비스를 다시 호출하지 않음
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(waiter.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(waiter.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+    }
+
+    @Test
+    void waiterCallsUpstreamWhenLeaderTimesOut() {
+        ResponseCacheFilter filter = filter(50);
+        Sinks.Empty<Void> gate = Sinks.empty();
+        GatewayFilterChain leaderChain = upstream(HttpStatus.OK, response -> {
+        }, gate.asMono());
+        GatewayFilterChain waiterChain = upstream(HttpStatus.OK, response -> {
+        });
+        MockServerWebExchange waiter = request();
+
+        filter.filter(request(), leaderChain).subscribe();
+        filter.filter(waiter, waiterChain).block(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(waiter.getResponse().getHeaders().getFirst("X-Cache")).isNull();
+        assertThat(waiter.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+    }
+
+    @Test
+    void doesNotCacheNonOkResponse() {
+        ResponseCacheFilter filter = filter(3000);
+        GatewayFilterChain chain = upstream(HttpStatus.SERVICE_UNAVAILABLE, response -> {
+        });
+        MockServerWebExchange second = request();
+
+        filter.filter(request(), chain).block();
+        filter.filter(second, chain).block();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    void doesNotCacheNoStoreResponse() {
+        ResponseCacheFilter filter = filter(3000);
+        GatewayFilterChain chain = upstream(HttpStatus.OK, response -> response.getHeaders().setCacheControl("no-store"));
+        MockServerWebExchange second = request();
+
+        filter.filter(request(), chain).block();
+        filter.filter(second, chain).block();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(second.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+    }
+}
@@ -31,23 +31,28 @@ public class MemberService {
         return member.getId();
     }
 
+    // 가입 직후 로그인이 replica 복제 지연으로 실패하지 않도록 readOnly 없이 primary db에서 조회
+    // (가입 시 중복 email 확인도 쓰기 트랜잭션이므로 primary db에서 조회)
     public Member doLogin(LoginReqDto dto) {
         Member member = memberRepository.findByEmail(dto.getEmail()).orElseThrow(() -> new EntityNotFoundException("없는 회원입니다."));
         if(!passwordEncoder.matches(dto.getPassword(), member.getPassword())) throw new IllegalArgumentException("비밀번호가 틀렸습니다.");
         return member;
     }
 
+    @Transactional(readOnly = true)
     public List<MemberResDto> findAll() {
         List<MemberResDto> memberResDtoList = memberRepository.findAll().stream().map(a -> MemberResDto.fromEntity(a)).toList();
         return memberResDtoList;
     }
 
+    @Transactional(readOnly = true)
     public MemberResDto memberDetail(Long id) {
         Member member = memberRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("없는 회원입니다."));
         MemberResDto dto = MemberResDto.fromEntity(member);
         return dto;
     }
 
+    // 본인 정보는 가입/탈퇴 직후에도 최신 값이 보이도록 primary db에서 조회
     public MemberResDto findMyInfo(String email) {
         Member member = memberRepository.findByEmail(email).orElseThrow(() -> new EntityNotFoundException("없는 회원입니다."));
         return MemberResDto.fromEntity(member);
@@ -0,0 +1,107 @@
+package beyond.ordersystem.ordering;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// 동시 주문 처리 시간 비교: platform thread(tomcat 기본 200개 + 상품 호출 pool) vs virtual thread
+// 주문 흐름은 OrderingService.createOrdering과 같음 (상품 조회는 동시에, 재고 감소는 순서대로)
+// 상품 서버 호출은 blocking 대기(sleep)로 대신함
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CheckoutThreadBenchmark {
+
+    // tomcat 기본 최대 thread 수
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    // 동시에 들어오는 주문 수
+    @Param({"1000"})
+    private int checkouts;
+
+    // 주문당 상품 개수
+    @Param({"5"})
+    private int itemsPerOrder;
+
+    // 상품 서버 호출 1번의 응답 시간
+    @Param({"20"})
+    private long productCallMillis;
+
+    // ordering.product-call.pool-size
+    @Param({"16"})
+    private int productCallPoolSize;
+
+    private ExecutorService requestExecutor;
+    private ExecutorService productCallExecutor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (mode.equals("virtual")) {
+            requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            productCallExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        } else {
+            requestExecutor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+            productCallExecutor = Executors.newFixedThreadPool(productCallPoolSize);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        productCallExecutor.shutdownNow();
+    }
+
+    // 주문 전체가 끝날 때까지의 시간
+    @Benchmark
+    public int concurrentCheckouts() {
+        List<CompletableFuture<Integer>> orders = new ArrayList<>(checkouts);
+        for (int i = 0; i < checkouts; i++) {
+            orders.add(CompletableFuture.supplyAsync(this::checkout, requestExecutor));
+        }
+        int completed = 0;
+        for (CompletableFuture<Integer> order : orders) {
+            completed += order.join();
+        }
+        return completed;
+    }
+
+    private int checkout() {
+        // 상품 조회 (동시에)
+        List<CompletableFuture<Void>> productCalls = new ArrayList<>(itemsPerOrder);
+        for (int i = 0; i < itemsPerOrder; i++) {
+            productCalls.add(CompletableFuture.runAsync(this::productCall, productCallExecutor));
+        }
+        productCalls.forEach(CompletableFuture::join);
+
+        // 재고 감소 (순서대로)
+        for (int i = 0; i < itemsPerOrder; i++) {
+            productCall();
+        }
+        return 1;
+    }
+
+    private void productCall() {
+        try {
+            Thread.sleep(productCallMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
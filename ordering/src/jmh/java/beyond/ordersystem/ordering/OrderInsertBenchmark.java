@@ -0,0 +1,88 @@
+package beyond.ordersystem.ordering;
+
+import beyond.ordersystem.common.domain.OrderIdGenerator;
+import beyond.ordersystem.ordering.domain.OrderDetail;
+import beyond.ordersystem.ordering.domain.Ordering;
+import beyond.ordersystem.ordering.domain.StockOutbox;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+// 주문 1건(주문 + 상세 N개 + outbox N개) 저장 처리량 비교: id 생성 전략별 (sequence pooled / time)
+// in-memory h2라 네트워크 왕복 비용은 빠져 있으므로, 실제 db에서는 batch로 줄어드는 statement 수만큼 차이가 더 커짐
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OrderInsertBenchmark {
+
+    @Param({"sequence", "time"})
+    private String strategy;
+
+    // 주문 상품 개수
+    @Param({"1", "10"})
+    private int lines;
+
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Ordering.class)
+                .addAnnotatedClass(OrderDetail.class)
+                .addAnnotatedClass(StockOutbox.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:order-insert-" + strategy + "-" + lines + ";DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                // 운영 설정과 같은 batch 설정
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .setProperty(OrderIdGenerator.STRATEGY_SETTING, strategy)
+                .setProperty(OrderIdGenerator.NODE_ID_SETTING, "1")
+                .buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Long insertOrder() {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            Ordering ordering = Ordering.builder().memberEmail("bench@naver.com").build();
+            for (int i = 0; i < lines; i++) {
+                ordering.getOrderDetailList().add(OrderDetail.builder()
+                        .productId((long) i)
+                        .productName("product-" + i)
+                        .quantity(1)
+                        .ordering(ordering)
+                        .build());
+            }
+            session.persist(ordering);
+            for (int i = 0; i < lines; i++) {
+                session.persist(StockOutbox.builder()
+                        .orderingId(ordering.getId())
+                        .productId((long) i)
+                        .productCount(1)
+                        .build());
+            }
+            transaction.commit();
+            return ordering.getId();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package beyond.ordersystem.ordering;
+
+import beyond.ordersystem.common.config.StockEventSerializer;
+import beyond.ordersystem.ordering.dto.StockEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+// 재고 이벤트 직렬화 비교: binary(StockEventSerializer, 29 bytes) vs json(이전에 사용하던 JsonSerializer, 약 80 bytes)
+// 해석 비교는 product-service의 StockEventDecodeBenchmark (실제 StockEventDeserializer 사용)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StockEventCodecBenchmark {
+
+    private static final String TOPIC = "stock-update-topic";
+
+    private final StockEventSerializer binarySerializer = new StockEventSerializer();
+    private final JsonSerializer<StockEvent> jsonSerializer = new JsonSerializer<>();
+
+    private StockEvent event;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 실제 outbox/주문/상품 id와 비슷한 자릿수
+        event = StockEvent.builder()
+                .eventId(1_234_567_890L)
+                .orderingId(987_654_321L)
+                .productId(12_345L)
+                .productCount(3)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jsonSerializer.close();
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return binarySerializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return jsonSerializer.serialize(TOPIC, event);
+    }
+}
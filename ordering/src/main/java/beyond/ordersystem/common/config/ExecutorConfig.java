@@ -0,0 +1,30 @@
+package beyond.ordersystem.common.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExecutorConfig {
+
+    // spring.threads.virtual.enabled=true 이면 tomcat 요청 처리와 함께 상품 서버 호출도 virtual thread에서 실행
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadEnabled;
+
+    // platform thread 모드일 때 상품 서버 동시 호출에 사용할 thread 개수
+    @Value("${ordering.product-call.pool-size:16}")
+    private int poolSize;
+
+    // 주문 상품별 상품 조회/재고 감소 요청을 동시에 실행하기 위한 executor
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService productCallExecutor() {
+        if (virtualThreadEnabled) {
+            // blocking I/O 동안 carrier thread를 점유하지 않으므로 요청마다 thread 생성
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+        return Executors.newFixedThreadPool(poolSize);
+    }
+}
@@ -1,5 +1,8 @@
 package beyond.ordersystem.common.config;
 
+import beyond.ordersystem.ordering.dto.StockEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,29 +10,68 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
 
+// kafka producer 설정
+// - 멱등 producer(acks=all, enable.idempotence): 재시도로 인한 중복/순서 뒤바뀜 없이 partition 내 순서 보장
+// - linger/batch-size/compression은 profile별로 설정 (처리량을 위해 여러 메시지를 묶어서 압축 전송)
+// - producer metric(kafka.producer.*: batch 크기, 요청 지연 등)과 topic별 send 지연(spring.kafka.template)을 micrometer로 수집
 @Configuration
 public class KafkaProducerConfig {
 
     @Value("${spring.kafka.kafka-server}")
     private String kafkaServer;
 
+    // batch를 채우기 위해 전송을 기다리는 최대 시간
+    @Value("${spring.kafka.producer.linger-ms:5}")
+    private int lingerMs;
+
+    // partition별 batch 최대 크기 (byte)
+    @Value("${spring.kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    // none, gzip, snappy, lz4, zstd
+    @Value("${spring.kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
+    // 재고 이벤트 producer (binary 직렬화)
+    // ordering-service가 발행하는 메시지는 재고 이벤트뿐이므로 json producer는 따로 두지 않음 (producer마다 커넥션/버퍼를 따로 사용)
     @Bean
-    public ProducerFactory<String, Object> producerFactory() {
+    public ProducerFactory<String, StockEvent> stockEventProducerFactory(MeterRegistry meterRegistry) {
+        DefaultKafkaProducerFactory<String, StockEvent> factory =
+                new DefaultKafkaProducerFactory<>(producerConfig(StockEventSerializer.class));
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry, Tags.of("producer", "stock-event")));
+        return factory;
+    }
+
+    @Bean
+    public KafkaTemplate<String, StockEvent> stockEventKafkaTemplate(ProducerFactory<String, StockEvent> stockEventProducerFactory) {
+        return instrumented(new KafkaTemplate<>(stockEventProducerFactory));
+    }
+
+    private Map<String, Object> producerConfig(Class<?> valueSerializer) {
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaServer);
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(config);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, valueSerializer);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        // 멱등 producer는 5개 이하여야 재시도 시에도 순서가 유지됨
+        config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION_CONFIG, 5);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        return config;
     }
 
-    @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    // send 지연 timer에 topic tag 추가
+    private <V> KafkaTemplate<String, V> instrumented(KafkaTemplate<String, V> kafkaTemplate) {
+        kafkaTemplate.setMicrometerEnabled(true);
+        kafkaTemplate.setMicrometerTagsProvider(record -> Map.of("topic", record.topic()));
+        return kafkaTemplate;
     }
 }
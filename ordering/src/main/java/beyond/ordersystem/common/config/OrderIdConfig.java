@@ -0,0 +1,21 @@
+package beyond.ordersystem.common.config;
+
+import beyond.ordersystem.common.domain.OrderIdGenerator;
+import beyond.ordersystem.common.domain.OrderIdSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+// time 방식 id 생성은 pod마다 다른 node id가 필요하므로, 설정이 없으면 첫 주문 시점이 아니라 서버 시작 시 실패
+// (pod 이름 hash 등으로 정하면 pod 간 node id가 겹쳐 같은 id가 생성될 수 있음)
+// time 방식 id는 javascript number 범위(2^53)를 넘으므로 응답에서는 문자열로 내보냄 (OrderIdSerializer)
+@Configuration
+public class OrderIdConfig {
+
+    public OrderIdConfig(@Value("${spring.jpa.properties." + OrderIdGenerator.STRATEGY_SETTING + ":sequence}") String strategy,
+                         @Value("${spring.jpa.properties." + OrderIdGenerator.NODE_ID_SETTING + ":}") String nodeId) {
+        if (OrderIdGenerator.isTimeStrategy(strategy)) {
+            OrderIdGenerator.parseNodeId(nodeId);
+        }
+        OrderIdSerializer.setWriteAsString(OrderIdGenerator.isTimeStrategy(strategy));
+    }
+}
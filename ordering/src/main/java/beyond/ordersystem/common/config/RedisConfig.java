@@ -1,6 +1,7 @@
 package beyond.ordersystem.common.config;
 
 import beyond.ordersystem.common.service.SseAlarmService;
+import beyond.ordersystem.common.service.SsePresenceService;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -9,6 +10,8 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.PatternTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
@@ -41,19 +44,33 @@ public class RedisConfig {
         RedisTemplate<String, String> redisTemplate = new RedisTemplate<>();
         redisTemplate.setKeySerializer(new StringRedisSerializer());
         redisTemplate.setValueSerializer(new StringRedisSerializer());
+        // 알림 보관함(redis stream)의 field/value도 문자열로 저장
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+        redisTemplate.setHashValueSerializer(new StringRedisSerializer());
         redisTemplate.setConnectionFactory(redisConnectionFactory);
         return redisTemplate;
     }
 
+    // sse 외의 용도로 문자열 key/value를 저장하는 범용 template (주문 요청 중복 방지 등)
+    // 연결은 위의 redis 연결 객체를 함께 사용
+    @Bean
+    public StringRedisTemplate stringRedisTemplate(@Qualifier("ssePubSub") RedisConnectionFactory redisConnectionFactory) {
+        return new StringRedisTemplate(redisConnectionFactory);
+    }
+
     // redis 리스너 객체
     @Bean
     @Qualifier("ssePubSub")
     public RedisMessageListenerContainer redisMessageListenerContainer(
             @Qualifier("ssePubSub") RedisConnectionFactory redisConnectionFactory,
-            MessageListenerAdapter messageListenerAdapter
+            MessageListenerAdapter messageListenerAdapter,
+            SsePresenceService ssePresenceService
     ) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(redisConnectionFactory);
+        // 현재 pod에 연결된 사용자에게 보내는 알림만 수신하는 pod 전용 채널
+        container.addMessageListener(messageListenerAdapter, new ChannelTopic(ssePresenceService.getChannel()));
+        // 배포 전환 중 이전 버전 pod가 broadcast하는 메시지 수신용
         container.addMessageListener(messageListenerAdapter, new PatternTopic("order-channel"));
         // 만약에 여러 채널을 구독해야 하는 경우, 여러 개의 PatternTopic을 add하거나, 별도의 Bean 객체 생성
 
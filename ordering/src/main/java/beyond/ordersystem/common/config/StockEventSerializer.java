@@ -0,0 +1,35 @@
+package beyond.ordersystem.common.config;
+
+import beyond.ordersystem.ordering.dto.StockEvent;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.ByteBuffer;
+
+// 재고 이벤트 binary 직렬화 (json 대비 레코드 크기 감소, 문자열 생성 없이 인코딩)
+// version 1 layout (big-endian, 29 bytes)
+// [version:1][eventId:8][orderingId:8][productId:8][productCount:4]
+// - id가 없으면 0으로 기록
+// - layout이 바뀌면 version을 올리고, product-service의 StockEventDeserializer도 함께 수정
+public class StockEventSerializer implements Serializer<StockEvent> {
+
+    public static final byte VERSION = 1;
+    public static final int SIZE = 1 + Long.BYTES * 3 + Integer.BYTES;
+
+    @Override
+    public byte[] serialize(String topic, StockEvent event) {
+        if (event == null) {
+            return null;
+        }
+        return ByteBuffer.allocate(SIZE)
+                .put(VERSION)
+                .putLong(orZero(event.getEventId()))
+                .putLong(orZero(event.getOrderingId()))
+                .putLong(orZero(event.getProductId()))
+                .putInt(event.getProductCount())
+                .array();
+    }
+
+    private long orZero(Long value) {
+        return value == null ? 0L : value;
+    }
+}
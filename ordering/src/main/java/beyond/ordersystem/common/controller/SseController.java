@@ -1,7 +1,9 @@
 package beyond.ordersystem.common.controller;
 
 import beyond.ordersystem.common.service.SseEmitterRegistry;
+import beyond.ordersystem.common.service.SseInboxService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -16,14 +18,25 @@ import java.io.IOException;
 public class SseController {
 
     private final SseEmitterRegistry sseEmitterRegistry;
+    private final SseInboxService sseInboxService;
+
+    // emitter 유효기간 (만료되면 client(EventSource)가 자동으로 재연결)
+    @Value("${sse.emitter-timeout-ms:3600000}")
+    private long emitterTimeoutMs;
 
     @GetMapping("/connect")
-    public SseEmitter subscribe(@RequestHeader("X-User-Email") String email) {
-        SseEmitter sseEmitter = new SseEmitter(14400 * 60 * 1000L); // 10일 정도 emitter 유효기간 설정
+    public SseEmitter subscribe(@RequestHeader("X-User-Email") String email,
+                                @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter sseEmitter = new SseEmitter(emitterTimeoutMs);
 
         sseEmitterRegistry.addSseEmitter(email, sseEmitter);
         try {
             sseEmitter.send(SseEmitter.event().name("connect").data("연결완료"));
+            // 연결이 끊겨 있던 동안 쌓인 알림만 재전송
+            // (registry 등록 이후에 조회하므로 알림이 누락되지는 않고, 중복은 client가 id로 걸러냄)
+            for (SseInboxService.InboxMessage message : sseInboxService.readAfter(email, lastEventId)) {
+                sseEmitter.send(SseEmitter.event().id(message.id()).name("ordered").data(message.data()));
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
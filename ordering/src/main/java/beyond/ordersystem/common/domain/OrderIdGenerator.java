@@ -0,0 +1,90 @@
+package beyond.ordersystem.common.domain;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.time.Instant;
+
+// 주문 관련 엔티티 id 생성기 (IDENTITY는 insert를 실행해야 id를 알 수 있어서 hibernate가 jdbc batch insert를 하지 않음)
+// - sequence(기본): db sequence를 increment_size 만큼 한 번에 할당받아 메모리에서 나눠 씀 (pooled)
+// - time: db 조회 없이 "시각(ms) + node id + 순번"으로 만든 64bit id
+//   node id(0 ~ 1023)는 pod마다 달라야 하므로 반드시 설정해야 함 (k8s StatefulSet의 pod 순번 등)
+//   설정이 없으면 서버 시작 시 실패 (OrderIdConfig)
+// 전략은 spring.jpa.properties.ordersystem.id.strategy로 선택
+// time 방식 id는 2^53보다 커서 javascript number로 읽으면 정밀도가 손실되므로 json에서는 문자열로 내보냄 (OrderIdSerializer)
+public class OrderIdGenerator extends SequenceStyleGenerator {
+
+    public static final String STRATEGY_SETTING = "ordersystem.id.strategy";
+    public static final String NODE_ID_SETTING = "ordersystem.id.node-id";
+    public static final long MAX_NODE_ID = 1023;
+
+    private volatile Boolean timeOrdered;
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (isTimeOrdered(session)) {
+            return TimeOrderedIds.next(session.getFactory().getProperties().get(NODE_ID_SETTING));
+        }
+        return super.generate(session, object);
+    }
+
+    private boolean isTimeOrdered(SharedSessionContractImplementor session) {
+        if (timeOrdered == null) {
+            timeOrdered = isTimeStrategy(session.getFactory().getProperties().get(STRATEGY_SETTING));
+        }
+        return timeOrdered;
+    }
+
+    public static boolean isTimeStrategy(Object strategy) {
+        return strategy != null && "time".equalsIgnoreCase(strategy.toString().trim());
+    }
+
+    // time 전략의 node id 확인 (없거나 범위를 벗어나면 예외)
+    public static long parseNodeId(Object configuredNodeId) {
+        if (configuredNodeId == null || configuredNodeId.toString().isBlank()) {
+            throw new IllegalStateException(NODE_ID_SETTING + " 설정이 필요합니다. (id 생성 전략: time)");
+        }
+        long nodeId;
+        try {
+            nodeId = Long.parseLong(configuredNodeId.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException(NODE_ID_SETTING + " 설정이 숫자가 아닙니다: " + configuredNodeId);
+        }
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalStateException(NODE_ID_SETTING + " 설정은 0 ~ " + MAX_NODE_ID + " 사이여야 합니다: " + nodeId);
+        }
+        return nodeId;
+    }
+
+    // 41bit 시각(ms, 2024-01-01 기준 약 69년) + 10bit node id + 12bit 순번(ms당 4096개)
+    // 모든 엔티티가 같은 생성기를 공유 (테이블이 달라도 id가 겹치지 않음)
+    private static final class TimeOrderedIds {
+        private static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+        private static final int NODE_BITS = 10;
+        private static final int SEQUENCE_BITS = 12;
+        private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+        private static long nodeId = -1;
+        private static long lastTimestamp = -1;
+        private static long sequence = 0;
+
+        static synchronized long next(Object configuredNodeId) {
+            if (nodeId < 0) {
+                nodeId = parseNodeId(configuredNodeId);
+            }
+            // 시계가 뒤로 가더라도 마지막 시각을 계속 사용해서 id가 줄어들거나 중복되지 않도록 함
+            long now = Math.max(System.currentTimeMillis() - EPOCH, lastTimestamp);
+            if (now == lastTimestamp) {
+                sequence = (sequence + 1) & MAX_SEQUENCE;
+                if (sequence == 0) {
+                    // 같은 ms의 순번을 다 쓰면 다음 ms 값을 미리 사용
+                    now = lastTimestamp + 1;
+                }
+            } else {
+                sequence = 0;
+            }
+            lastTimestamp = now;
+            return (now << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+        }
+    }
+}
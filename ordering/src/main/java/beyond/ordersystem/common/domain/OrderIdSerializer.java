@@ -0,0 +1,40 @@
+package beyond.ordersystem.common.domain;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+// 주문 관련 id의 json 표현 (응답, sse 알림, export)
+// time 전략 id는 2^53보다 커서 javascript number로 읽으면 정밀도가 손실되므로 문자열로 내보냄
+// sequence 전략은 기존과 같이 숫자로 내보냄 (전략은 서버 시작 시 OrderIdConfig에서 지정)
+// 요청으로 받는 id(cursor 등)는 숫자/문자열 모두 Long으로 읽을 수 있음
+public class OrderIdSerializer extends JsonSerializer<Long> {
+
+    private static volatile boolean writeAsString;
+
+    public static void setWriteAsString(boolean writeAsString) {
+        OrderIdSerializer.writeAsString = writeAsString;
+    }
+
+    // CommonDto.result처럼 타입이 Object인 곳에 id를 그대로 담을 때 사용
+    public static Object toResponse(Long id) {
+        return id != null && writeAsString ? id.toString() : id;
+    }
+
+    public static void write(JsonGenerator generator, Long id) throws IOException {
+        if (id == null) {
+            generator.writeNull();
+        } else if (writeAsString) {
+            generator.writeString(id.toString());
+        } else {
+            generator.writeNumber(id);
+        }
+    }
+
+    @Override
+    public void serialize(Long value, JsonGenerator generator, SerializerProvider serializers) throws IOException {
+        write(generator, value);
+    }
+}
@@ -1,5 +1,8 @@
 package beyond.ordersystem.common.dto;
 
+import beyond.ordersystem.common.domain.OrderIdSerializer;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,5 +15,9 @@ import lombok.NoArgsConstructor;
 public class SseMessageDto {
     private String sender;
     private String receiver;
+    @JsonSerialize(using = OrderIdSerializer.class)
     private Long orderingId;
+    // 다른 pod로 전달할 때만 사용하는 알림 보관함 id (sse 이벤트 id)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String eventId;
 }
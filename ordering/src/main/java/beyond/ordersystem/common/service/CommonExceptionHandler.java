@@ -1,6 +1,7 @@
 package beyond.ordersystem.common.service;
 
 import beyond.ordersystem.common.dto.CommonErrorDto;
+import beyond.ordersystem.ordering.service.OrderInProgressException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +19,13 @@ public class CommonExceptionHandler {
         return new ResponseEntity<>(new CommonErrorDto(HttpStatus.BAD_REQUEST.value(), e.getMessage()), HttpStatus.BAD_REQUEST);
     }
 
+    // 같은 Idempotency-Key의 주문 요청이 아직 처리 중인 경우
+    @ExceptionHandler(OrderInProgressException.class)
+    public ResponseEntity<?> orderInProgressException(OrderInProgressException e) {
+        log.error(e.getMessage());
+        return new ResponseEntity<>(new CommonErrorDto(HttpStatus.CONFLICT.value(), e.getMessage()), HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> handleValidationException(MethodArgumentNotValidException e) {
         // 첫 번째 필드 에러에서 기본 메시지만 가져오기
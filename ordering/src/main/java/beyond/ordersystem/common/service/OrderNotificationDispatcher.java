@@ -0,0 +1,112 @@
+package beyond.ordersystem.common.service;
+
+import beyond.ordersystem.common.dto.SseMessageDto;
+import beyond.ordersystem.ordering.dto.OrderCreatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// 주문 생성 알림(sse, redis)을 주문 요청 thread와 트랜잭션 밖에서 발송
+// - 커밋된 주문만 알림 (롤백된 주문은 이벤트가 전달되지 않음)
+// - 크기가 제한된 queue에 넣고 별도 thread가 배치 단위로 꺼내 발송 (보관함 저장, pod 목록 조회, publish를 배치마다 redis pipeline으로 처리)
+// - queue가 가득 차면 주문 처리를 막지 않고 알림을 버림 (sse.dispatch.dropped 지표로 확인)
+@Slf4j
+@Component
+public class OrderNotificationDispatcher {
+
+    private final SseAlarmService sseAlarmService;
+    private final BlockingQueue<OrderCreatedEvent> queue;
+    private final Counter droppedCounter;
+    private final int batchSize;
+    private final String receiver;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public OrderNotificationDispatcher(SseAlarmService sseAlarmService,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${sse.dispatch.queue-capacity:10000}") int queueCapacity,
+                                       @Value("${sse.dispatch.batch-size:100}") int batchSize,
+                                       @Value("${sse.dispatch.receiver:admin@naver.com}") String receiver) {
+        this.sseAlarmService = sseAlarmService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.receiver = receiver;
+        this.worker = new Thread(this::run, "order-notification-dispatcher");
+        this.worker.setDaemon(true);
+
+        Gauge.builder("sse.dispatch.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+        this.droppedCounter = Counter.builder("sse.dispatch.dropped").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker.start();
+    }
+
+    // 주문 트랜잭션 커밋 이후에 호출 (요청 thread에서는 queue에 넣기만 함)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        if (!queue.offer(event)) {
+            droppedCounter.increment();
+            log.warn("알림 queue가 가득 차서 주문 알림을 버립니다. orderingId={}", event.getOrderingId());
+        }
+    }
+
+    private void run() {
+        List<OrderCreatedEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                OrderCreatedEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 꺼낸 알림을 한 번에 발송 (redis 작업은 batch 단위 pipeline으로 처리)
+    private void dispatch(List<OrderCreatedEvent> events) {
+        List<SseMessageDto> messages = new ArrayList<>(events.size());
+        for (OrderCreatedEvent event : events) {
+            messages.add(SseMessageDto.builder()
+                    .sender(event.getMemberEmail())
+                    .receiver(receiver)
+                    .orderingId(event.getOrderingId())
+                    .build());
+        }
+        try {
+            sseAlarmService.publishMessages(messages);
+        } catch (Exception e) {
+            log.error("주문 알림 발송 실패 {}건 (orderingId {} ~ {}): {}", events.size(),
+                    events.get(0).getOrderingId(), events.get(events.size() - 1).getOrderingId(), e.getMessage());
+        }
+    }
+
+    // 종료 시 queue에 남은 알림은 최대한 발송하고 종료
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+}
@@ -4,82 +4,145 @@ import beyond.ordersystem.common.dto.SseMessageDto;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+@Slf4j
 @Component
 //@RequiredArgsConstructor
 public class SseAlarmService implements MessageListener {
 
     private final SseEmitterRegistry sseEmitterRegistry;
+    private final SsePresenceService ssePresenceService;
+    private final SseInboxService sseInboxService;
     private final RedisTemplate<String, String> redisTemplate;
 
-    public SseAlarmService(SseEmitterRegistry sseEmitterRegistry, @Qualifier("ssePubSub") RedisTemplate<String, String> redisTemplate) {
+    public SseAlarmService(SseEmitterRegistry sseEmitterRegistry, SsePresenceService ssePresenceService, SseInboxService sseInboxService, @Qualifier("ssePubSub") RedisTemplate<String, String> redisTemplate) {
         this.sseEmitterRegistry = sseEmitterRegistry;
+        this.ssePresenceService = ssePresenceService;
+        this.sseInboxService = sseInboxService;
         this.redisTemplate = redisTemplate;
     }
 
     // 특정 사용자에게 message 발송
     public void publishMessage(String receiver, String sender, Long orderingId) {
-        SseMessageDto dto = SseMessageDto.builder()
+        publishMessages(List.of(SseMessageDto.builder()
                 .sender(sender)
                 .receiver(receiver)
                 .orderingId(orderingId)
-                .build();
+                .build()));
+    }
 
+    // 여러 message를 한 번에 발송 (보관함 저장, pod 목록 조회, 다른 pod로의 publish를 각각 redis pipeline 한 번으로 처리)
+    public void publishMessages(List<SseMessageDto> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
         ObjectMapper objectMapper = new ObjectMapper();
-        String data = null;
+        List<String> dataList = new ArrayList<>(messages.size());
+        List<SseInboxService.NewMessage> inboxMessages = new ArrayList<>(messages.size());
+        for (SseMessageDto dto : messages) {
+            String data = toJson(objectMapper, dto);
+            dataList.add(data);
+            inboxMessages.add(new SseInboxService.NewMessage(dto.getReceiver(), data));
+        }
+
+        // 사용자별 알림 보관함에 먼저 저장 (연결이 끊겨있던 동안의 알림은 재연결 시 Last-Event-ID 기준으로 재전송)
+        List<String> eventIds;
         try {
-            data = objectMapper.writeValueAsString(dto);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+            eventIds = sseInboxService.appendAll(inboxMessages);
+        } catch (Exception e) {
+            log.warn("알림 보관함 저장 실패 {}건: {}", messages.size(), e.getMessage());
+            eventIds = Collections.nCopies(messages.size(), null);
         }
 
-        //  emitter 객체를 통해 메시지 전송
-        SseEmitter sseEmitter = sseEmitterRegistry.getEmitter(receiver);
-//        emitter 객체가 현재 서버에 있으면, 직접 알림 발송, 그렇지 않으면, redis에 publish
-        if (sseEmitter != null) {
-            try {
-                sseEmitter.send(SseEmitter.event().name("ordered").data(data));
-                // 사용자가 로그아웃(새로고침) 후에 다시 화면에 들어왔을 때 알림 메시지가 남아있으려면 DB에 추가적으로 저장 필요
-            } catch (IOException e) {
-                e.printStackTrace();
+        //  emitter 객체를 통해 메시지 전송 (사용자의 모든 연결로 발송)
+//        한 사용자의 연결이 여러 pod에 나뉘어 있을 수 있으므로, 현재 서버의 연결로 직접 발송하고 연결을 가진 다른 pod의 채널에도 redis publish
+        List<String> receivers = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            String receiver = messages.get(i).getReceiver();
+            receivers.add(receiver);
+            sseEmitterRegistry.send(receiver, eventIds.get(i), "ordered", dataList.get(i));
+        }
+
+        Map<String, Set<String>> podsByReceiver = ssePresenceService.podsOf(receivers);
+        List<RoutedMessage> routedMessages = new ArrayList<>();
+        for (int i = 0; i < messages.size(); i++) {
+            SseMessageDto dto = messages.get(i);
+            String routedData = null;
+            for (String podId : podsByReceiver.getOrDefault(dto.getReceiver(), Set.of())) {
+                if (podId.equals(ssePresenceService.getPodId())) {
+                    continue;
+                }
+                if (routedData == null) {
+                    dto.setEventId(eventIds.get(i));
+                    routedData = toJson(objectMapper, dto);
+                }
+                routedMessages.add(new RoutedMessage(dto.getReceiver(), podId, routedData));
             }
-        } else {
-            redisTemplate.convertAndSend("order-channel", data);
+        }
+        if (routedMessages.isEmpty()) {
+            return;
         }
 
+        List<Object> receiverCounts = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (RoutedMessage routed : routedMessages) {
+                connection.publish(ssePresenceService.channelOf(routed.podId()).getBytes(StandardCharsets.UTF_8),
+                        routed.data().getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        // 채널 구독자가 없으면 이미 종료된 pod이므로 presence에서 제거
+        for (int i = 0; i < routedMessages.size(); i++) {
+            RoutedMessage routed = routedMessages.get(i);
+            if (receiverCounts.get(i) instanceof Long count && count == 0) {
+                ssePresenceService.removePod(routed.receiver(), routed.podId());
+            }
+        }
+    }
+
+    private String toJson(ObjectMapper objectMapper, SseMessageDto dto) {
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     @Override
     public void onMessage(Message message, byte[] pattern) {
         // Message: 실질적인 메시지가 담겨있는 객체
-        // pattern: 채널명
-        String channel_name = new String(pattern);
+        // pattern: 구독 패턴 (ChannelTopic으로 구독한 pod 전용 채널에서는 null이므로 채널명은 message에서 꺼냄)
+        String channel_name = new String(message.getChannel());
 
         // 여러 개의 채널을 구독하고 있을 경우, 채널명으로 분기 처리
         ObjectMapper objectMapper = new ObjectMapper();
         try {
             SseMessageDto dto = objectMapper.readValue(message.getBody(), SseMessageDto.class);
-            SseEmitter sseEmitter = sseEmitterRegistry.getEmitter(dto.getReceiver());
-
-            // emitter 객체가 현재 서버에 있으면, 직접 알림 발송. 그렇지 않으면, redis에 publish
-            if (sseEmitter != null) {
-                try {
-                    sseEmitter.send(SseEmitter.event().name("ordered").data(dto));
-                    // 사용자가 로그아웃(새로고침) 후에 다시 화면에 들어왔을 때, 알림 메시지가 남아있으려면 DB에 추가적인 저장 필요
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-            }
+
+            // emitter 객체가 현재 서버에 있으면, 직접 알림 발송 (보관함 id는 sse 이벤트 id로만 사용)
+            String eventId = dto.getEventId();
+            dto.setEventId(null);
+            sseEmitterRegistry.send(dto.getReceiver(), eventId, "ordered", dto);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
+
+    // 다른 pod의 전용 채널로 보낼 message
+    private record RoutedMessage(String receiver, String podId, String data) {
+    }
 }
@@ -1,29 +1,159 @@
 package beyond.ordersystem.common.service;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+@Slf4j
 @Component
 public class SseEmitterRegistry {
 
     // SseEmiiter: 연결된 사용자 정보(ip, mac address 정보 등)
     // ConcurrentHashMap: thread safe한 map (동시성 이슈 발생 X)
-    private Map<String, SseEmitter> emitterMap = new ConcurrentHashMap<>();
+    // 한 사용자가 여러 탭/기기에서 접속할 수 있으므로 사용자별로 여러 emitter 보관
+    private final Map<String, Set<SseEmitter>> emitterMap = new ConcurrentHashMap<>();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final SsePresenceService ssePresenceService;
+
+    public SseEmitterRegistry(MeterRegistry meterRegistry, SsePresenceService ssePresenceService) {
+        this.ssePresenceService = ssePresenceService;
+        // pod당 연결 수 모니터링 (sse.connections.active: 전체 연결 수, sse.users.connected: 접속 사용자 수)
+        Gauge.builder("sse.connections.active", activeConnections, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("sse.users.connected", emitterMap, Map::size).register(meterRegistry);
+    }
 
     public void addSseEmitter(String email, SseEmitter sseEmitter) {
-        emitterMap.put(email, sseEmitter);
-//        System.out.println(emitterMap);
+        // 같은 사용자의 마지막 연결이 동시에 제거되는 경우에도 유실되지 않도록 compute 안에서 추가
+        emitterMap.compute(email, (k, emitters) -> {
+            Set<SseEmitter> target = emitters == null ? ConcurrentHashMap.newKeySet() : emitters;
+            target.add(sseEmitter);
+            return target;
+        });
+        activeConnections.incrementAndGet();
+        // 다른 pod에서 이 사용자에게 보내는 알림이 현재 pod로 오도록 presence 등록
+        updatePresence(email);
+
+        // 연결 종료, 타임아웃, 오류 시 registry에서 제거 (client가 떠난 emitter가 남지 않도록)
+        sseEmitter.onCompletion(() -> remove(email, sseEmitter));
+        sseEmitter.onTimeout(() -> remove(email, sseEmitter));
+        sseEmitter.onError(e -> remove(email, sseEmitter));
     }
 
+    // 사용자의 모든 연결 종료
     public void removeEmitter(String email) {
-        emitterMap.remove(email);
+        Set<SseEmitter> emitters = emitterMap.remove(email);
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            activeConnections.decrementAndGet();
+            emitter.complete();
+        }
+        updatePresence(email);
+    }
+
+    // 현재 pod에 연결된 사용자의 모든 emitter로 이벤트 발송, 현재 pod에 연결이 없으면 false
+    // eventId: 알림 보관함 id (재연결 시 client가 Last-Event-ID로 돌려줌), 없으면 null
+    public boolean send(String email, String eventId, String eventName, Object data) {
+        Set<SseEmitter> emitters = emitterMap.get(email);
+        if (emitters == null || emitters.isEmpty()) {
+            return false;
+        }
+        List<SseEmitter> deadEmitters = new ArrayList<>();
+        for (SseEmitter emitter : emitters) {
+            try {
+                SseEmitter.SseEventBuilder event = SseEmitter.event().name(eventName).data(data);
+                if (eventId != null) {
+                    event.id(eventId);
+                }
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                deadEmitters.add(emitter);
+            }
+        }
+        for (SseEmitter emitter : deadEmitters) {
+            evict(email, emitter);
+        }
+        return true;
+    }
+
+    // 주기적으로 heartbeat(comment)를 보내 proxy의 idle timeout으로 끊기지 않게 하고,
+    // 전송에 실패한 연결(client가 이미 떠난 연결)은 모아서 한 번에 제거
+    @Scheduled(fixedDelayString = "${sse.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        Map<String, List<SseEmitter>> deadEmitters = new HashMap<>();
+        for (Map.Entry<String, Set<SseEmitter>> entry : emitterMap.entrySet()) {
+            for (SseEmitter emitter : entry.getValue()) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    deadEmitters.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(emitter);
+                }
+            }
+        }
+
+        int evicted = 0;
+        for (Map.Entry<String, List<SseEmitter>> entry : deadEmitters.entrySet()) {
+            for (SseEmitter emitter : entry.getValue()) {
+                evict(entry.getKey(), emitter);
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            log.info("끊어진 sse 연결 {}개 제거, 남은 연결 {}개", evicted, activeConnections.get());
+        }
+
+        // 현재 pod에 연결된 사용자들의 presence 만료 시간 연장
+        try {
+            ssePresenceService.refresh(emitterMap.keySet());
+        } catch (Exception e) {
+            log.warn("sse presence 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    private void evict(String email, SseEmitter emitter) {
+        if (remove(email, emitter)) {
+            emitter.complete();
+        }
+    }
+
+    // 콜백과 heartbeat가 같은 emitter를 동시에 제거해도 한 번만 집계되도록 실제로 제거한 경우에만 true
+    private boolean remove(String email, SseEmitter emitter) {
+        boolean[] removed = {false};
+        emitterMap.computeIfPresent(email, (k, emitters) -> {
+            removed[0] = emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+        if (removed[0]) {
+            activeConnections.decrementAndGet();
+            updatePresence(email);
+        }
+        return removed[0];
     }
 
-    public SseEmitter getEmitter(String email) {
-        return this.emitterMap.get(email);
+    // 현재 pod에 사용자의 연결이 남아있는지에 따라 presence 등록/해제
+    // (redis 장애 시에도 현재 pod의 연결은 유지되도록 예외는 기록만 함)
+    private void updatePresence(String email) {
+        try {
+            if (emitterMap.containsKey(email)) {
+                ssePresenceService.register(email);
+            } else {
+                ssePresenceService.unregister(email);
+            }
+        } catch (Exception e) {
+            log.warn("sse presence 갱신 실패 email={}: {}", email, e.getMessage());
+        }
     }
 }
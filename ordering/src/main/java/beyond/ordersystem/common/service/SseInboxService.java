@@ -0,0 +1,112 @@
+package beyond.ordersystem.common.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// 사용자별 알림 보관함 (redis stream, key: sse:inbox:{email})
+// - 알림마다 증가하는 stream id를 sse 이벤트 id로 사용
+// - 재연결 시 Last-Event-ID 이후의 알림만 다시 전송 (목록 전체 재조회 불필요)
+// - 개수(MAXLEN)와 기간(MINID) 기준으로 오래된 알림 정리
+@Component
+public class SseInboxService {
+
+    private static final String KEY_PREFIX = "sse:inbox:";
+    private static final String DATA_FIELD = "data";
+    private static final Pattern STREAM_ID = Pattern.compile("\\d+-\\d+");
+
+    // 추가 + 개수/기간 정리 + 보관함 만료 시간 갱신을 한 번의 요청으로 처리
+    private static final RedisScript<String> APPEND_SCRIPT = RedisScript.of("""
+            local id = redis.call('XADD', KEYS[1], 'MAXLEN', '~', ARGV[1], '*', 'data', ARGV[2])
+            redis.call('XTRIM', KEYS[1], 'MINID', '~', ARGV[3])
+            redis.call('EXPIRE', KEYS[1], ARGV[4])
+            return id
+            """, String.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final long maxLength;
+    private final long maxAgeSeconds;
+    private final long replayMaxCount;
+
+    public SseInboxService(@Qualifier("ssePubSub") RedisTemplate<String, String> redisTemplate,
+                           @Value("${sse.inbox.max-length:100}") long maxLength,
+                           @Value("${sse.inbox.max-age-seconds:604800}") long maxAgeSeconds,
+                           @Value("${sse.inbox.replay-max-count:100}") long replayMaxCount) {
+        this.redisTemplate = redisTemplate;
+        this.maxLength = maxLength;
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.replayMaxCount = replayMaxCount;
+    }
+
+    // 알림을 보관함에 추가하고 stream id 반환
+    public String append(String email, String data) {
+        // stream id는 "밀리초-순번" 형식이므로 기간 기준 정리는 해당 시각의 id로 계산
+        String minId = (System.currentTimeMillis() - maxAgeSeconds * 1000) + "-0";
+        return redisTemplate.execute(APPEND_SCRIPT, List.of(KEY_PREFIX + email),
+                String.valueOf(maxLength), data, minId, String.valueOf(maxAgeSeconds));
+    }
+
+    // 여러 알림을 pipeline으로 한 번에 추가하고, 추가한 순서대로 stream id 반환
+    public List<String> appendAll(List<NewMessage> messages) {
+        if (messages.isEmpty()) {
+            return List.of();
+        }
+        byte[] script = APPEND_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        byte[] maxLengthArg = bytes(String.valueOf(maxLength));
+        byte[] minIdArg = bytes((System.currentTimeMillis() - maxAgeSeconds * 1000) + "-0");
+        byte[] maxAgeArg = bytes(String.valueOf(maxAgeSeconds));
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (NewMessage message : messages) {
+                connection.scriptingCommands().eval(script, ReturnType.VALUE, 1,
+                        bytes(KEY_PREFIX + message.email()), maxLengthArg, bytes(message.data()), minIdArg, maxAgeArg);
+            }
+            return null;
+        });
+        List<String> ids = new ArrayList<>(results.size());
+        for (Object result : results) {
+            ids.add(result == null ? null : result.toString());
+        }
+        return ids;
+    }
+
+    // lastEventId 이후에 쌓인 알림 조회 (id 형식이 아니면 재전송하지 않음)
+    public List<InboxMessage> readAfter(String email, String lastEventId) {
+        if (lastEventId == null || !STREAM_ID.matcher(lastEventId).matches()) {
+            return List.of();
+        }
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().range(
+                KEY_PREFIX + email,
+                Range.rightUnbounded(Range.Bound.exclusive(lastEventId)),
+                Limit.limit().count((int) replayMaxCount));
+        List<InboxMessage> messages = new ArrayList<>();
+        if (records == null) {
+            return messages;
+        }
+        for (MapRecord<String, Object, Object> record : records) {
+            messages.add(new InboxMessage(record.getId().getValue(), String.valueOf(record.getValue().get(DATA_FIELD))));
+        }
+        return messages;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public record InboxMessage(String id, String data) {
+    }
+
+    public record NewMessage(String email, String data) {
+    }
+}
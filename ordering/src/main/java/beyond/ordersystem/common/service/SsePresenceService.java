@@ -0,0 +1,118 @@
+package beyond.ordersystem.common.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 사용자별로 sse 연결을 가지고 있는 pod 목록을 redis에 관리 (presence directory)
+// key: sse:presence:{email}, value: pod id set
+// 알림은 전체 채널 broadcast 대신 연결을 가진 pod의 전용 채널(order-channel:{podId})로만 publish
+@Component
+public class SsePresenceService {
+
+    private static final String KEY_PREFIX = "sse:presence:";
+    private static final String CHANNEL_PREFIX = "order-channel:";
+    private static final int REFRESH_CHUNK_SIZE = 500;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    // k8s에서는 pod 이름(HOSTNAME), 그 외에는 실행마다 임의의 id
+    private final String podId;
+    // heartbeat마다 갱신되며, 갱신이 멈춘(죽은) pod의 정보는 만료되어 사라짐
+    private final Duration ttl;
+
+    public SsePresenceService(@Qualifier("ssePubSub") RedisTemplate<String, String> redisTemplate,
+                              @Value("${HOSTNAME:#{T(java.util.UUID).randomUUID().toString()}}") String podId,
+                              @Value("${sse.presence-ttl-seconds:90}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.podId = podId;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    public String getPodId() {
+        return podId;
+    }
+
+    // 현재 pod가 구독하는 전용 채널
+    public String getChannel() {
+        return channelOf(podId);
+    }
+
+    public String channelOf(String targetPodId) {
+        return CHANNEL_PREFIX + targetPodId;
+    }
+
+    // 사용자의 첫 연결이 현재 pod에 생겼을 때
+    public void register(String email) {
+        String key = KEY_PREFIX + email;
+        redisTemplate.opsForSet().add(key, podId);
+        redisTemplate.expire(key, ttl);
+    }
+
+    // 사용자의 마지막 연결이 현재 pod에서 끊어졌을 때
+    public void unregister(String email) {
+        removePod(email, podId);
+    }
+
+    // 사용자의 연결을 가지고 있는 pod 목록
+    public Set<String> podsOf(String email) {
+        Set<String> pods = redisTemplate.opsForSet().members(KEY_PREFIX + email);
+        return pods == null ? Set.of() : pods;
+    }
+
+    // 여러 사용자의 pod 목록을 pipeline으로 한 번에 조회 (key: email)
+    @SuppressWarnings("unchecked")
+    public Map<String, Set<String>> podsOf(Collection<String> emails) {
+        List<String> targets = new ArrayList<>(new LinkedHashSet<>(emails));
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String email : targets) {
+                connection.setCommands().sMembers((KEY_PREFIX + email).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        Map<String, Set<String>> pods = new HashMap<>();
+        for (int i = 0; i < targets.size(); i++) {
+            Object result = results.get(i);
+            pods.put(targets.get(i), result == null ? Set.of() : (Set<String>) result);
+        }
+        return pods;
+    }
+
+    // 더 이상 존재하지 않는 pod(채널 구독자 없음)를 목록에서 제거
+    public void removePod(String email, String targetPodId) {
+        redisTemplate.opsForSet().remove(KEY_PREFIX + email, targetPodId);
+    }
+
+    // 현재 pod에 연결된 사용자들의 presence를 pipeline으로 한 번에 갱신
+    public void refresh(Collection<String> emails) {
+        List<String> targets = new ArrayList<>(emails);
+        byte[] member = podId.getBytes(StandardCharsets.UTF_8);
+        long ttlSeconds = ttl.getSeconds();
+        for (int from = 0; from < targets.size(); from += REFRESH_CHUNK_SIZE) {
+            List<String> chunk = targets.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, targets.size()));
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String email : chunk) {
+                    addWithTtl(connection, (KEY_PREFIX + email).getBytes(StandardCharsets.UTF_8), member, ttlSeconds);
+                }
+                return null;
+            });
+        }
+    }
+
+    private void addWithTtl(RedisConnection connection, byte[] key, byte[] member, long ttlSeconds) {
+        connection.setCommands().sAdd(key, member);
+        connection.keyCommands().expire(key, ttlSeconds);
+    }
+}
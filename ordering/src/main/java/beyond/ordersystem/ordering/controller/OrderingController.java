@@ -1,16 +1,25 @@
 package beyond.ordersystem.ordering.controller;
 
+import beyond.ordersystem.common.domain.OrderIdSerializer;
 import beyond.ordersystem.common.dto.CommonDto;
+import beyond.ordersystem.ordering.domain.OrderStatus;
 import beyond.ordersystem.ordering.domain.Ordering;
 import beyond.ordersystem.ordering.dto.OrderCreateDto;
-import beyond.ordersystem.ordering.dto.OrderListResDto;
+import beyond.ordersystem.ordering.dto.OrderCursorResDto;
+import beyond.ordersystem.ordering.service.OrderExportService;
+import beyond.ordersystem.ordering.service.OrderIdempotencyService;
 import beyond.ordersystem.ordering.service.OrderingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -19,40 +28,66 @@ import java.util.List;
 public class OrderingController {
 
     private final OrderingService orderingService;
+    private final OrderExportService orderExportService;
+    private final OrderIdempotencyService orderIdempotencyService;
 
     // 주문 생성
+    // Idempotency-Key 헤더가 있으면 같은 key로 재시도된 요청은 주문을 다시 만들지 않고 처음 결과를 반환
     @PostMapping("/create")
-    public ResponseEntity<?> createOrder(@RequestBody @Valid List<OrderCreateDto> dto, @RequestHeader("X-User-Email") String email) {
+    public ResponseEntity<?> createOrder(@RequestBody @Valid List<OrderCreateDto> dto, @RequestHeader("X-User-Email") String email,
+                                         @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
 
-        Long id = orderingService.createFeignKafka(dto, email);
+        OrderIdempotencyService.Result result = orderIdempotencyService.execute(idempotencyKey, email, dto,
+                () -> orderingService.createFeignKafka(dto, email));
 
-        return new ResponseEntity<>(
-                new CommonDto(id, HttpStatus.OK.value(), "주문 성공"),
-                HttpStatus.CREATED
-        );
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+                .body(new CommonDto(OrderIdSerializer.toResponse(result.orderingId()), HttpStatus.OK.value(), "주문 성공"));
     }
 
-    // 주문 목록 조회
+    // 주문 목록 조회 (cursor: 이전 페이지의 nextCursor)
     @GetMapping("/list")
-    public ResponseEntity<?> getOrderingList() {
+    public ResponseEntity<?> getOrderingList(@RequestParam(required = false) Long cursor, @RequestParam(defaultValue = "20") int size) {
 
-        List<OrderListResDto> orderListResDtoList = orderingService.getOrderingList();
+        OrderCursorResDto orderCursorResDto = orderingService.getOrderingList(cursor, pageSize(size));
 
         return new ResponseEntity<>(
-                new CommonDto(orderListResDtoList, HttpStatus.OK.value(), "주문목록 조회 성공"),
+                new CommonDto(orderCursorResDto, HttpStatus.OK.value(), "주문목록 조회 성공"),
                 HttpStatus.OK
         );
     }
 
     // 나의 주문 목록 조회
     @GetMapping("/myorders")
-    public ResponseEntity<?> getMyOrderingList(@RequestHeader("X-User-Email") String email) {
+    public ResponseEntity<?> getMyOrderingList(@RequestHeader("X-User-Email") String email, @RequestParam(required = false) Long cursor, @RequestParam(defaultValue = "20") int size) {
 
-        List<OrderListResDto> orderListResDtoList = orderingService.getMyOrderingList(email);
+        OrderCursorResDto orderCursorResDto = orderingService.getMyOrderingList(email, cursor, pageSize(size));
 
         return new ResponseEntity<>(
-                new CommonDto(orderListResDtoList, HttpStatus.OK.value(), "나의 주문목록 조회 성공"),
+                new CommonDto(orderCursorResDto, HttpStatus.OK.value(), "나의 주문목록 조회 성공"),
                 HttpStatus.OK
         );
     }
+
+    // 주문 export (관리자용): 한 줄에 주문 하나씩 NDJSON 형식으로 스트리밍
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) OrderStatus status) {
+
+        // to 날짜는 해당 일자까지 포함
+        LocalDateTime fromTime = from == null ? null : from.atStartOfDay();
+        LocalDateTime toTime = to == null ? null : to.plusDays(1).atStartOfDay();
+        StreamingResponseBody body = outputStream -> orderExportService.export(fromTime, toTime, status, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    // 한 페이지 크기는 1 ~ 100 사이로 제한
+    private int pageSize(int size) {
+        return Math.max(1, Math.min(size, 100));
+    }
 }
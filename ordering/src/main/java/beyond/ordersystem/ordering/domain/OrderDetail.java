@@ -1,11 +1,15 @@
 package beyond.ordersystem.ordering.domain;
 
 import beyond.ordersystem.common.domain.BaseTimeEntity;
+import beyond.ordersystem.common.domain.OrderIdGenerator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 @Entity
 @NoArgsConstructor
@@ -14,7 +18,11 @@ import lombok.NoArgsConstructor;
 @Builder
 public class OrderDetail extends BaseTimeEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(generator = "order_detail_id")
+    @GenericGenerator(name = "order_detail_id", type = OrderIdGenerator.class, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "order_detail_seq"),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50")})
     private Long id;
 
     @Column(nullable = false)
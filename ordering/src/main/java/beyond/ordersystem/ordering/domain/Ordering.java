@@ -1,8 +1,12 @@
 package beyond.ordersystem.ordering.domain;
 
 import beyond.ordersystem.common.domain.BaseTimeEntity;
+import beyond.ordersystem.common.domain.OrderIdGenerator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -12,9 +16,15 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Getter
+// 나의 주문 목록 cursor 페이징 조회를 위한 인덱스
+@Table(indexes = @Index(name = "idx_ordering_member_email", columnList = "member_email, id"))
 public class Ordering extends BaseTimeEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(generator = "ordering_id")
+    @GenericGenerator(name = "ordering_id", type = OrderIdGenerator.class, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "ordering_seq"),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50")})
     private Long id;
 
     @Builder.Default
@@ -23,6 +33,7 @@ public class Ordering extends BaseTimeEntity {
     @Setter
     private OrderStatus orderStatus = OrderStatus.ORDERED;
 
+    @Column(name = "member_email")
     private String memberEmail;
 
     @OneToMany(mappedBy = "ordering", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -0,0 +1,45 @@
+package beyond.ordersystem.ordering.domain;
+
+import beyond.ordersystem.common.domain.BaseTimeEntity;
+import beyond.ordersystem.common.domain.OrderIdGenerator;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.time.LocalDateTime;
+
+// 재고 감소 이벤트를 주문과 같은 트랜잭션에 저장해두고, 커밋 이후 relay가 kafka로 발행 (transactional outbox)
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Builder
+public class StockOutbox extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(generator = "stock_outbox_id")
+    @GenericGenerator(name = "stock_outbox_id", type = OrderIdGenerator.class, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "stock_outbox_seq"),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50")})
+    private Long id;
+
+    private Long orderingId;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer productCount;
+
+    // relay가 발행을 위해 가져간 시점부터 이 시각까지는 다른 relay가 가져가지 않음 (발행 실패/pod 종료 시 만료 후 재발행)
+    private LocalDateTime claimedUntil;
+
+    public void claim(LocalDateTime until) {
+        this.claimedUntil = until;
+    }
+}
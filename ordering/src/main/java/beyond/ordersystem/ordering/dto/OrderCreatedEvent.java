@@ -0,0 +1,13 @@
+package beyond.ordersystem.ordering.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 주문 생성 완료 이벤트 (주문 트랜잭션 커밋 이후에 알림 발송)
+@Getter
+@AllArgsConstructor
+public class OrderCreatedEvent {
+
+    private Long orderingId;
+    private String memberEmail;
+}
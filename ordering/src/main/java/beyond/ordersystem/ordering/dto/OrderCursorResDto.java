@@ -0,0 +1,24 @@
+package beyond.ordersystem.ordering.dto;
+
+import beyond.ordersystem.common.domain.OrderIdSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 주문 목록 cursor 페이징 응답 (nextCursor가 null이면 마지막 페이지)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderCursorResDto {
+
+    @Builder.Default
+    private List<OrderListResDto> orders = new ArrayList<>();
+    @JsonSerialize(using = OrderIdSerializer.class)
+    private Long nextCursor;
+}
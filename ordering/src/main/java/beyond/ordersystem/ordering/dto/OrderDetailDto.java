@@ -1,6 +1,8 @@
 package beyond.ordersystem.ordering.dto;
 
+import beyond.ordersystem.common.domain.OrderIdSerializer;
 import beyond.ordersystem.ordering.domain.OrderDetail;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,6 +15,7 @@ import lombok.NoArgsConstructor;
 @Builder
 public class OrderDetailDto {
 
+    @JsonSerialize(using = OrderIdSerializer.class)
     private Long detailId;
     private String productName;
     private int productCount;
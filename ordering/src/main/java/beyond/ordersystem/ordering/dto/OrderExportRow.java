@@ -0,0 +1,23 @@
+package beyond.ordersystem.ordering.dto;
+
+import beyond.ordersystem.ordering.domain.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 주문 export 시 주문 + 주문 상세를 한 줄로 펼친 조회 결과 (엔티티가 아니므로 영속성 컨텍스트에 쌓이지 않음)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderExportRow {
+
+    private Long orderingId;
+    private OrderStatus orderStatus;
+    private String memberEmail;
+    private LocalDateTime createdTime;
+    private Long detailId;
+    private String productName;
+    private Integer quantity;
+}
@@ -1,7 +1,9 @@
 package beyond.ordersystem.ordering.dto;
 
+import beyond.ordersystem.common.domain.OrderIdSerializer;
 import beyond.ordersystem.ordering.domain.OrderStatus;
 import beyond.ordersystem.ordering.domain.Ordering;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,6 +18,7 @@ import java.util.List;
 @Builder
 public class OrderListResDto {
 
+    @JsonSerialize(using = OrderIdSerializer.class)
     private Long orderingId;
     private OrderStatus orderStatus;
     private String memberEmail;
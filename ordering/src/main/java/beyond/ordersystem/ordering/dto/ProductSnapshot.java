@@ -0,0 +1,24 @@
+package beyond.ordersystem.ordering.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 주문 상세 생성에 필요한 상품 정보만 담은 로컬 캐시용 객체
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSnapshot {
+
+    private Long id;
+    private String name;
+
+    public static ProductSnapshot fromProductDto(ProductDto productDto) {
+        return ProductSnapshot.builder()
+                .id(productDto.getId())
+                .name(productDto.getName())
+                .build();
+    }
+}
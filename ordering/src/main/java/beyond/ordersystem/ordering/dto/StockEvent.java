@@ -0,0 +1,20 @@
+package beyond.ordersystem.ordering.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// stock-update-topic으로 발행하는 재고 감소 이벤트 (StockEventSerializer로 binary 직렬화)
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class StockEvent {
+
+    // stock outbox id (중복 발행 식별용)
+    private Long eventId;
+    private Long orderingId;
+    private Long productId;
+    private int productCount;
+}
@@ -5,9 +5,12 @@ import beyond.ordersystem.ordering.dto.OrderCreateDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.List;
+
 // name 부분은 eureka에 등록된 application.name을 의미
 @FeignClient(name = "product-service")
 public interface ProductFeignClient {
@@ -15,6 +18,10 @@ public interface ProductFeignClient {
     @GetMapping("/product/detail/{productId}")
     CommonDto getProductById(@PathVariable Long productId);
 
+    // 주문 상품 목록을 한 번의 요청으로 조회
+    @PostMapping("/product/details")
+    CommonDto getProductsByIds(@RequestBody List<Long> productIds);
+
     @PutMapping("/product/updatestock")
     void updateProductStockQuantity(@RequestBody OrderCreateDto orderCreateDto);
 }
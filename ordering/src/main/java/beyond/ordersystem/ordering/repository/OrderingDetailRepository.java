@@ -9,4 +9,7 @@ import java.util.List;
 public interface OrderingDetailRepository extends JpaRepository<OrderDetail, Long> {
 
     List<OrderDetail> findByOrdering(Ordering ordering);
+
+    // 여러 주문의 상세 내역을 in 쿼리 한 번으로 조회 (N+1 방지)
+    List<OrderDetail> findByOrderingIn(List<Ordering> orderings);
 }
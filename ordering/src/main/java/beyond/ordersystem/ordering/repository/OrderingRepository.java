@@ -1,13 +1,41 @@
 package beyond.ordersystem.ordering.repository;
 
+import beyond.ordersystem.ordering.domain.OrderStatus;
 import beyond.ordersystem.ordering.domain.Ordering;
+import beyond.ordersystem.ordering.dto.OrderExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderingRepository extends JpaRepository<Ordering, Long> {
 
     List<Ordering> findByMemberEmail(String email);
+
+    // cursor(주문 id) 기반 페이징: count 쿼리 없이 id 내림차순으로 다음 페이지 조회
+    List<Ordering> findByIdLessThanOrderByIdDesc(Long cursor, Pageable pageable);
+
+    List<Ordering> findByMemberEmailAndIdLessThanOrderByIdDesc(String email, Long cursor, Pageable pageable);
+
+    // 주문 export: 전체 결과를 메모리에 올리지 않고 fetch size 단위로 읽어오는 forward-only 스트림
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new beyond.ordersystem.ordering.dto.OrderExportRow(o.id, o.orderStatus, o.memberEmail, o.createdTime, d.id, d.productName, d.quantity) " +
+            "from Ordering o left join o.orderDetailList d " +
+            "where (:from is null or o.createdTime >= :from) " +
+            "and (:to is null or o.createdTime < :to) " +
+            "and (:status is null or o.orderStatus = :status) " +
+            "order by o.id, d.id")
+    Stream<OrderExportRow> streamForExport(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, @Param("status") OrderStatus status);
 }
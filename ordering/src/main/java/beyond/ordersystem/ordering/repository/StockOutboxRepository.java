@@ -0,0 +1,32 @@
+package beyond.ordersystem.ordering.repository;
+
+import beyond.ordersystem.ordering.domain.StockOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockOutboxRepository extends JpaRepository<StockOutbox, Long> {
+
+    // 여러 pod의 relay가 같은 행을 중복 발행하지 않도록 select ... for update skip locked
+    // 다른 relay가 가져가서 아직 발행 중인(claim이 유효한) 행은 제외
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select s from StockOutbox s where s.claimedUntil is null or s.claimedUntil < :now order by s.id")
+    List<StockOutbox> findRelayBatch(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // 발행에 실패한 행은 다음 주기에 다시 가져갈 수 있도록 claim 해제
+    @Modifying
+    @Query("update StockOutbox s set s.claimedUntil = null where s.id in :ids")
+    int releaseClaims(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,105 @@
+package beyond.ordersystem.ordering.service;
+
+import beyond.ordersystem.common.domain.OrderIdSerializer;
+import beyond.ordersystem.ordering.domain.OrderStatus;
+import beyond.ordersystem.ordering.dto.OrderExportRow;
+import beyond.ordersystem.ordering.repository.OrderingRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+// 주문 목록을 한 줄에 주문 하나씩 json으로 내려주는 NDJSON export
+// 조회 결과를 스트림으로 읽으면서 바로 응답에 쓰기 때문에 export 크기와 상관없이 메모리 사용량이 일정
+@Service
+public class OrderExportService {
+
+    // 몇 건의 주문마다 응답을 flush 할지
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final OrderingRepository orderingRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderExportService(OrderingRepository orderingRepository, ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.orderingRepository = orderingRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public void export(LocalDateTime from, LocalDateTime to, OrderStatus status, OutputStream outputStream) throws IOException {
+        // 스트림 조회는 트랜잭션(커넥션)이 열려있는 동안만 읽을 수 있음
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                try (Stream<OrderExportRow> rows = orderingRepository.streamForExport(from, to, status);
+                     JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                    // 줄 구분은 endOrder에서 직접 쓰므로 jackson 기본 구분자(공백)는 사용하지 않음
+                    generator.setRootValueSeparator(null);
+                    writeRows(rows.iterator(), generator);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // 주문 id 순으로 정렬된 (주문, 상세) 행을 주문 단위로 묶어서 한 줄씩 씀
+    private void writeRows(Iterator<OrderExportRow> rows, JsonGenerator generator) throws IOException {
+        Long currentOrderingId = null;
+        int writtenCount = 0;
+        while (rows.hasNext()) {
+            OrderExportRow row = rows.next();
+            if (!Objects.equals(row.getOrderingId(), currentOrderingId)) {
+                if (currentOrderingId != null) {
+                    endOrder(generator);
+                    if (++writtenCount % FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                }
+                startOrder(generator, row);
+                currentOrderingId = row.getOrderingId();
+            }
+            if (row.getDetailId() != null) {
+                generator.writeStartObject();
+                generator.writeFieldName("detailId");
+                OrderIdSerializer.write(generator, row.getDetailId());
+                generator.writeStringField("productName", row.getProductName());
+                generator.writeNumberField("productCount", row.getQuantity());
+                generator.writeEndObject();
+            }
+        }
+        if (currentOrderingId != null) {
+            endOrder(generator);
+        }
+        generator.flush();
+    }
+
+    private void startOrder(JsonGenerator generator, OrderExportRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName("orderingId");
+        OrderIdSerializer.write(generator, row.getOrderingId());
+        generator.writeStringField("orderStatus", row.getOrderStatus().name());
+        generator.writeStringField("memberEmail", row.getMemberEmail());
+        generator.writeStringField("createdTime", row.getCreatedTime() == null ? null : row.getCreatedTime().toString());
+        generator.writeArrayFieldStart("orderDetails");
+    }
+
+    private void endOrder(JsonGenerator generator) throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
@@ -0,0 +1,198 @@
+package beyond.ordersystem.ordering.service;
+
+import beyond.ordersystem.ordering.dto.OrderCreateDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// 주문 생성 요청 중복 방지 (Idempotency-Key 헤더)
+// - 처음 들어온 요청만 주문을 생성하고, 결과(주문 id)를 redis에 일정 시간 보관
+// - 처리 중에 들어온 같은 key의 요청은 첫 요청이 끝날 때까지 기다렸다가 같은 결과를 반환
+// - 처리가 끝난 뒤의 재시도는 redis 조회 한 번으로 이전 결과를 반환
+// key: idempotency:order:{email}:{Idempotency-Key}, value: IN_PROGRESS:{요청 fingerprint} 또는 DONE:{요청 fingerprint}:{주문 id}
+@Slf4j
+@Service
+public class OrderIdempotencyService {
+
+    private static final String KEY_PREFIX = "idempotency:order:";
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+    private static final String DONE = "DONE";
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    // 처리 중 표시가 아직 자신의 것일 때만 삭제 (실패한 요청은 재시도할 수 있도록 key 해제)
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    // 처리 중 표시가 아직 자신의 것일 때만 유효기간 연장
+    private static final RedisScript<Long> RENEW_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    // 처리 중 표시가 아직 자신의 것일 때만 처리 결과로 교체
+    private static final RedisScript<Long> COMPLETE_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    // 처리 중 표시 유효기간 (처리 중에는 1/3 주기로 계속 연장, 서버가 처리 도중 종료되면 이 시간이 지난 뒤 다시 요청 가능)
+    private final Duration inProgressTtl;
+    // 처리 결과 보관 기간
+    private final Duration resultTtl;
+    // 처리 중인 같은 요청의 결과를 기다리는 최대 시간
+    private final long waitTimeoutMillis;
+    // 처리 중 표시 연장용
+    private final ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-idempotency-renewer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OrderIdempotencyService(StringRedisTemplate redisTemplate,
+                                   @Value("${ordering.idempotency.in-progress-ttl-seconds:30}") long inProgressTtlSeconds,
+                                   @Value("${ordering.idempotency.result-ttl-seconds:86400}") long resultTtlSeconds,
+                                   @Value("${ordering.idempotency.wait-timeout-millis:10000}") long waitTimeoutMillis) {
+        this.redisTemplate = redisTemplate;
+        this.inProgressTtl = Duration.ofSeconds(inProgressTtlSeconds);
+        this.resultTtl = Duration.ofSeconds(resultTtlSeconds);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    // Idempotency-Key가 없으면 그대로 주문 생성
+    public Result execute(String idempotencyKey, String email, List<OrderCreateDto> dtos, Supplier<Long> createOrder) {
+        if (idempotencyKey == null) {
+            return new Result(createOrder.get(), false);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("잘못된 Idempotency-Key입니다.");
+        }
+
+        String key = KEY_PREFIX + email + ":" + idempotencyKey;
+        String fingerprint = fingerprint(dtos);
+        String inProgressValue = IN_PROGRESS + ":" + fingerprint;
+        long deadline = System.currentTimeMillis() + waitTimeoutMillis;
+
+        while (true) {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key, inProgressValue, inProgressTtl);
+            if (Boolean.TRUE.equals(acquired)) {
+                return new Result(createAndStore(key, inProgressValue, fingerprint, createOrder), false);
+            }
+
+            String value = redisTemplate.opsForValue().get(key);
+            // 조회 사이에 key가 만료/해제된 경우 다시 선점 시도
+            if (value != null) {
+                String[] parts = value.split(":");
+                if (!parts[1].equals(fingerprint)) {
+                    throw new IllegalArgumentException("같은 Idempotency-Key로 다른 주문을 요청할 수 없습니다.");
+                }
+                if (parts[0].equals(DONE)) {
+                    return new Result(Long.parseLong(parts[2]), true);
+                }
+            }
+
+            if (System.currentTimeMillis() >= deadline) {
+                throw new OrderInProgressException("같은 주문 요청을 처리 중입니다. 잠시 후 다시 시도해주세요.");
+            }
+            sleep();
+        }
+    }
+
+    private Long createAndStore(String key, String inProgressValue, String fingerprint, Supplier<Long> createOrder) {
+        // 주문 처리가 처리 중 표시 유효기간보다 오래 걸려도 다른 요청이 key를 가져가지 않도록 연장
+        long renewIntervalMillis = Math.max(1, inProgressTtl.toMillis() / 3);
+        ScheduledFuture<?> renewal = renewer.scheduleAtFixedRate(() -> renew(key, inProgressValue),
+                renewIntervalMillis, renewIntervalMillis, TimeUnit.MILLISECONDS);
+        Long orderingId;
+        try {
+            orderingId = createOrder.get();
+        } catch (RuntimeException e) {
+            renewal.cancel(false);
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(key), inProgressValue);
+            throw e;
+        }
+        renewal.cancel(false);
+
+        // 주문은 이미 커밋되었으므로 결과 저장에 실패해도 주문 결과는 정상 반환 (오류를 반환하면 client가 재시도해서 중복 주문 발생)
+        try {
+            Long stored = redisTemplate.execute(COMPLETE_SCRIPT, List.of(key), inProgressValue,
+                    DONE + ":" + fingerprint + ":" + orderingId, String.valueOf(resultTtl.toMillis()));
+            if (stored == null || stored == 0) {
+                log.warn("Idempotency-Key 처리 중 표시가 만료되어 결과를 저장하지 못했습니다. key={}, orderingId={}", key, orderingId);
+            }
+        } catch (RuntimeException e) {
+            log.error("Idempotency-Key 처리 결과 저장 실패 key={}, orderingId={}: {}", key, orderingId, e.getMessage());
+        }
+        return orderingId;
+    }
+
+    private void renew(String key, String inProgressValue) {
+        try {
+            redisTemplate.execute(RENEW_SCRIPT, List.of(key), inProgressValue, String.valueOf(inProgressTtl.toMillis()));
+        } catch (RuntimeException e) {
+            log.warn("Idempotency-Key 처리 중 표시 연장 실패 key={}: {}", key, e.getMessage());
+        }
+    }
+
+    // 같은 key로 내용이 다른 요청이 들어오는 것을 구분하기 위한 요청 내용 hash
+    // 재시도 시 상품 순서만 바뀐 요청도 같은 요청으로 보도록 상품 id 순으로 정렬해서 계산
+    static String fingerprint(List<OrderCreateDto> dtos) {
+        List<OrderCreateDto> sorted = dtos.stream()
+                .sorted(Comparator.comparing(OrderCreateDto::getProductId).thenComparingInt(OrderCreateDto::getProductCount))
+                .toList();
+        StringBuilder payload = new StringBuilder();
+        for (OrderCreateDto dto : sorted) {
+            payload.append(dto.getProductId()).append('x').append(dto.getProductCount()).append(',');
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(payload.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewer.shutdownNow();
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("주문 요청 처리가 중단되었습니다.");
+        }
+    }
+
+    // replayed: 이전에 처리된 결과를 그대로 반환한 경우
+    public record Result(Long orderingId, boolean replayed) {
+    }
+}
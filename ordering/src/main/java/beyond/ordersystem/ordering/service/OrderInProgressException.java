@@ -0,0 +1,9 @@
+package beyond.ordersystem.ordering.service;
+
+// 같은 Idempotency-Key의 주문 요청이 아직 처리 중이라 결과를 돌려줄 수 없는 경우 (409 Conflict)
+public class OrderInProgressException extends RuntimeException {
+
+    public OrderInProgressException(String message) {
+        super(message);
+    }
+}
@@ -1,28 +1,40 @@
 package beyond.ordersystem.ordering.service;
 
 import beyond.ordersystem.common.dto.CommonDto;
-import beyond.ordersystem.common.service.SseAlarmService;
 import beyond.ordersystem.ordering.domain.OrderDetail;
 import beyond.ordersystem.ordering.domain.OrderStatus;
 import beyond.ordersystem.ordering.domain.Ordering;
+import beyond.ordersystem.ordering.domain.StockOutbox;
 import beyond.ordersystem.ordering.dto.OrderCreateDto;
+import beyond.ordersystem.ordering.dto.OrderCreatedEvent;
+import beyond.ordersystem.ordering.dto.OrderCursorResDto;
 import beyond.ordersystem.ordering.dto.OrderDetailDto;
 import beyond.ordersystem.ordering.dto.OrderListResDto;
 import beyond.ordersystem.ordering.dto.ProductDto;
-import beyond.ordersystem.ordering.feignclient.ProductFeignClient;
+import beyond.ordersystem.ordering.dto.ProductSnapshot;
 import beyond.ordersystem.ordering.repository.OrderingDetailRepository;
 import beyond.ordersystem.ordering.repository.OrderingRepository;
+import beyond.ordersystem.ordering.repository.StockOutboxRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.*;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 
 @Service
 @Transactional
@@ -31,64 +43,96 @@ public class OrderingService {
 
     private final OrderingRepository orderingRepository;
     private final OrderingDetailRepository orderingDetailRepository;
-    private final SseAlarmService sseAlarmService;
+    private final ApplicationEventPublisher eventPublisher;
     private final RestTemplate restTemplate;
-    private final ProductFeignClient productFeignClient;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ProductSnapshotCache productSnapshotCache;
+    private final StockOutboxRepository stockOutboxRepository;
+    private final ExecutorService productCallExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     // 주문 생성
+    // 상품 서버 호출 동안 db 커넥션을 잡지 않도록 트랜잭션 밖에서 호출하고, 주문 저장만 짧은 트랜잭션으로 처리
 //    @Transactional(isolation = Isolation.SERIALIZABLE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Long createOrdering(List<OrderCreateDto> dtos, String email) {
 
-        // 주문 먼저 저장하고
-        Ordering ordering = Ordering.builder().orderStatus(OrderStatus.ORDERED).memberEmail(email).build();
-        orderingRepository.save(ordering);
-
-        // 재고 조회
-        for(OrderCreateDto dto : dtos) {
-            // 상품 조회
-            String productDetailUrl = "http://product-service/product/detail/" + dto.getProductId();
-            HttpHeaders headers = new HttpHeaders();
-            // HttpEntity: httpbody와 httpheader를 세팅하기 위한 객체
-            HttpEntity<String> httpEntity = new HttpEntity<>(headers);
-            // 원래는 아래 요청의 예외를 try-catch 해줘야 함
-            ResponseEntity<CommonDto> responseEntity = restTemplate.exchange(productDetailUrl, HttpMethod.GET, httpEntity, CommonDto.class);
-            CommonDto commonDto = responseEntity.getBody();
-
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            // readValue: String -> 클래스 변환, convertValue: Object 클래스 -> 클래스 변환
-            ProductDto product = objectMapper.convertValue(commonDto.getResult(), ProductDto.class);
-
-            int quantity = dto.getProductCount();
+        // 상품 조회 (주문 상품별 요청은 서로 독립적이므로 동시에 실행)
+        List<CompletableFuture<ProductDto>> productFutures = new ArrayList<>();
+        for (OrderCreateDto dto : dtos) {
+            productFutures.add(CompletableFuture.supplyAsync(() -> getProduct(dto.getProductId()), productCallExecutor));
+        }
+        List<ProductDto> products = new ArrayList<>();
+        for (CompletableFuture<ProductDto> productFuture : productFutures) {
+            products.add(join(productFuture));
+        }
 
-            // 재고 관리
+        // 재고 관리
 //            if (product.getStockQuantity() < dto.getProductCount()) {
 //                throw new IllegalArgumentException("재고가 부족합니다.");
 //            }
 
-            // 주문 발생
-            OrderDetail orderDetail = OrderDetail.builder()
-                    .productId(product.getId())
-                    .productName(product.getName())
-                    .quantity(quantity)
-                    .ordering(ordering)
-                    .build();
-            // @OneToMany + Cascade 조합으로 따로 save 없이 저장될 수 있게
-            ordering.getOrderDetailList().add(orderDetail);
-
-            // 동기적 재고 감소 요청
-            String productUpdateStockUrl = "http://product-service/product/updatestock";
-            HttpHeaders stockHeaders = new HttpHeaders();
-            stockHeaders.setContentType(MediaType.APPLICATION_JSON);
-            // HttpEntity: http body & http header를 세팅하기 위한 객체
-            HttpEntity<OrderCreateDto> updateStockEntity = new HttpEntity<>(dto, stockHeaders);
-            restTemplate.exchange(productUpdateStockUrl, HttpMethod.PUT, updateStockEntity, Void.class);
+        // 동기적 재고 감소 요청
+        // 하나가 실패하면 나머지 상품의 재고는 감소시키지 않도록 순서대로 실행 (동시에 보내면 실패 시 이미 감소된 재고를 되돌릴 수 없음)
+        for (OrderCreateDto dto : dtos) {
+            updateStock(dto);
         }
 
-        sseAlarmService.publishMessage("admin@naver.com", email, ordering.getId());
+        return transactionTemplate.execute(status -> {
+            // 주문 발생 (영속성 컨텍스트는 요청 thread에서만 다룸)
+            Ordering ordering = Ordering.builder().orderStatus(OrderStatus.ORDERED).memberEmail(email).build();
+            for (int i = 0; i < dtos.size(); i++) {
+                ProductDto product = products.get(i);
+                OrderDetail orderDetail = OrderDetail.builder()
+                        .productId(product.getId())
+                        .productName(product.getName())
+                        .quantity(dtos.get(i).getProductCount())
+                        .ordering(ordering)
+                        .build();
+                // @OneToMany + Cascade 조합으로 따로 save 없이 저장될 수 있게
+                ordering.getOrderDetailList().add(orderDetail);
+            }
+            orderingRepository.save(ordering);
+
+            // 알림은 커밋 이후에 OrderNotificationDispatcher가 비동기로 발송
+            eventPublisher.publishEvent(new OrderCreatedEvent(ordering.getId(), email));
 
-        return ordering.getId();
+            return ordering.getId();
+        });
+    }
+
+    private ProductDto getProduct(Long productId) {
+        String productDetailUrl = "http://product-service/product/detail/" + productId;
+        HttpHeaders headers = new HttpHeaders();
+        // HttpEntity: httpbody와 httpheader를 세팅하기 위한 객체
+        HttpEntity<String> httpEntity = new HttpEntity<>(headers);
+        // 원래는 아래 요청의 예외를 try-catch 해줘야 함
+        ResponseEntity<CommonDto> responseEntity = restTemplate.exchange(productDetailUrl, HttpMethod.GET, httpEntity, CommonDto.class);
+        CommonDto commonDto = responseEntity.getBody();
+
+        // readValue: String -> 클래스 변환, convertValue: Object 클래스 -> 클래스 변환
+        return objectMapper.convertValue(commonDto.getResult(), ProductDto.class);
+    }
+
+    private void updateStock(OrderCreateDto dto) {
+        String productUpdateStockUrl = "http://product-service/product/updatestock";
+        HttpHeaders stockHeaders = new HttpHeaders();
+        stockHeaders.setContentType(MediaType.APPLICATION_JSON);
+        // HttpEntity: http body & http header를 세팅하기 위한 객체
+        HttpEntity<OrderCreateDto> updateStockEntity = new HttpEntity<>(dto, stockHeaders);
+        restTemplate.exchange(productUpdateStockUrl, HttpMethod.PUT, updateStockEntity, Void.class);
+    }
+
+    // 비동기 작업의 결과를 기다리고, 작업 중 발생한 예외는 원래 예외로 다시 던짐
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
     }
 
     // Fall back 메서드는 원본 메서드의 매개변수와 정확히 일치해야 함.
@@ -103,13 +147,14 @@ public class OrderingService {
         Ordering ordering = Ordering.builder().orderStatus(OrderStatus.ORDERED).memberEmail(email).build();
         orderingRepository.save(ordering);
 
-        // 재고 조회
-        for (OrderCreateDto dto : dtos) {
-            // feign 클라이언트를 사용한 상품 조회
-            CommonDto commonDto = productFeignClient.getProductById(dto.getProductId());
+        // 상품 일괄 조회: 로컬 캐시에 없는 상품만 모아서 feign 요청 1번 (주문 상품 개수와 상관없음)
+        List<Long> productIds = dtos.stream().map(OrderCreateDto::getProductId).distinct().toList();
+        Map<Long, Optional<ProductSnapshot>> productMap = productSnapshotCache.getAll(productIds);
 
-            ObjectMapper objectMapper = new ObjectMapper();
-            ProductDto product = objectMapper.convertValue(commonDto.getResult(), ProductDto.class);
+        List<StockOutbox> stockOutboxList = new ArrayList<>();
+        for (OrderCreateDto dto : dtos) {
+            ProductSnapshot product = productMap.get(dto.getProductId())
+                    .orElseThrow(() -> new IllegalArgumentException("없는 상품입니다."));
 
             int quantity = dto.getProductCount();
 
@@ -121,54 +166,62 @@ public class OrderingService {
 //            productFeignClient.updateProductStockQuantity(dto);
 
             // kafka를 활용한 비동기적 재고 감소
-            kafkaTemplate.send("stock-update-topic", dto);
+            // 주문과 같은 트랜잭션에서 outbox에 저장하고, 커밋 이후 StockOutboxRelay가 배치로 발행
+            stockOutboxList.add(StockOutbox.builder()
+                    .orderingId(ordering.getId())
+                    .productId(dto.getProductId())
+                    .productCount(quantity)
+                    .build());
         }
+        stockOutboxRepository.saveAll(stockOutboxList);
 
-        sseAlarmService.publishMessage("admin@naver.com", email, ordering.getId());
+        // 알림은 커밋 이후에 OrderNotificationDispatcher가 비동기로 발송
+        eventPublisher.publishEvent(new OrderCreatedEvent(ordering.getId(), email));
 
         return ordering.getId();
     }
 
-    // 주문 목록 조회
-    public List<OrderListResDto> getOrderingList() {
-        List<OrderListResDto> orderListResDtoList = new ArrayList<>();
-        List<Ordering> orderingList = orderingRepository.findAll();
-
-        // Ordering (id, orderStatus), Member(memberEmail)
-        // OrderDetail (detailId, productName, productCount)
-        for (Ordering ordering : orderingList) {
-            List<OrderDetailDto> orderDetailDtoList = new ArrayList<>();
-
-            List<OrderDetail> orderDetailList = orderingDetailRepository.findByOrdering(ordering);
-            for (OrderDetail orderDetail : orderDetailList) {
-                orderDetailDtoList.add(OrderDetailDto.fromEntity(orderDetail));
-            }
-            OrderListResDto orderListResDto = OrderListResDto.fromEntity(ordering, orderDetailDtoList);
-            orderListResDtoList.add(orderListResDto);
-        }
+    // 주문 목록 조회 (cursor 페이징)
+    @Transactional(readOnly = true)
+    public OrderCursorResDto getOrderingList(Long cursor, int size) {
+        List<Ordering> orderingList = orderingRepository.findByIdLessThanOrderByIdDesc(toCursor(cursor), PageRequest.of(0, size));
+        return toCursorResDto(orderingList, size);
+    }
 
-        return orderListResDtoList;
+    // 나의 주문 목록 조회 (cursor 페이징)
+    @Transactional(readOnly = true)
+    public OrderCursorResDto getMyOrderingList(String email, Long cursor, int size) {
+        List<Ordering> orderingList = orderingRepository.findByMemberEmailAndIdLessThanOrderByIdDesc(email, toCursor(cursor), PageRequest.of(0, size));
+        return toCursorResDto(orderingList, size);
     }
 
-    // 나의 주문 목록 조회
-    public List<OrderListResDto> getMyOrderingList(String email) {
+    private Long toCursor(Long cursor) {
+        // cursor가 없으면 첫 페이지
+        return cursor == null ? Long.MAX_VALUE : cursor;
+    }
 
-        List<Ordering> orderingList = orderingRepository.findByMemberEmail(email);
+    // 페이지에 포함된 주문들의 상세 내역은 한 번의 쿼리로 조회해서 주문별로 묶음
+    private OrderCursorResDto toCursorResDto(List<Ordering> orderingList, int size) {
+        Map<Long, List<OrderDetailDto>> orderDetailMap = new HashMap<>();
+        if (!orderingList.isEmpty()) {
+            for (OrderDetail orderDetail : orderingDetailRepository.findByOrderingIn(orderingList)) {
+                orderDetailMap.computeIfAbsent(orderDetail.getOrdering().getId(), k -> new ArrayList<>())
+                        .add(OrderDetailDto.fromEntity(orderDetail));
+            }
+        }
 
+        // Ordering (id, orderStatus), Member(memberEmail)
+        // OrderDetail (detailId, productName, productCount)
         List<OrderListResDto> orderListResDtoList = new ArrayList<>();
-
         for (Ordering ordering : orderingList) {
-            List<OrderDetailDto> orderDetailDtoList = new ArrayList<>();
-
-            List<OrderDetail> orderDetailList = orderingDetailRepository.findByOrdering(ordering);
-
-            for(OrderDetail orderDetail : orderDetailList) {
-                orderDetailDtoList.add(OrderDetailDto.fromEntity(orderDetail));
-            }
-            OrderListResDto orderListResDto = OrderListResDto.fromEntity(ordering, orderDetailDtoList);
-            orderListResDtoList.add(orderListResDto);
+            List<OrderDetailDto> orderDetailDtoList = orderDetailMap.getOrDefault(ordering.getId(), new ArrayList<>());
+            orderListResDtoList.add(OrderListResDto.fromEntity(ordering, orderDetailDtoList));
         }
 
-        return orderListResDtoList;
+        Long nextCursor = orderingList.size() == size ? orderingList.get(orderingList.size() - 1).getId() : null;
+        return OrderCursorResDto.builder()
+                .orders(orderListResDtoList)
+                .nextCursor(nextCursor)
+                .build();
     }
 }
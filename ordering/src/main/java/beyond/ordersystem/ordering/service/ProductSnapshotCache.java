@@ -0,0 +1,98 @@
+package beyond.ordersystem.ordering.service;
+
+import beyond.ordersystem.common.dto.CommonDto;
+import beyond.ordersystem.ordering.dto.ProductDto;
+import beyond.ordersystem.ordering.dto.ProductSnapshot;
+import beyond.ordersystem.ordering.feignclient.ProductFeignClient;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+// product-service 조회 결과(id, name)를 pod 내부에 캐싱하는 near-cache
+// - 최대 개수 제한 + ttl 만료
+// - 자주 조회되는 상품은 만료 전에 백그라운드에서 미리 갱신 (refresh-ahead)
+// - 없는 상품도 짧은 시간 동안 캐싱 (negative cache)
+@Component
+public class ProductSnapshotCache {
+
+    private final ProductFeignClient productFeignClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LoadingCache<Long, Optional<ProductSnapshot>> cache;
+
+    public ProductSnapshotCache(ProductFeignClient productFeignClient,
+                                ExecutorService productCallExecutor,
+                                @Value("${ordering.product-cache.max-size:10000}") long maxSize,
+                                @Value("${ordering.product-cache.ttl-seconds:600}") long ttlSeconds,
+                                @Value("${ordering.product-cache.refresh-seconds:60}") long refreshSeconds,
+                                @Value("${ordering.product-cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.productFeignClient = productFeignClient;
+
+        long ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        long negativeTtlNanos = Duration.ofSeconds(negativeTtlSeconds).toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<Long, Optional<ProductSnapshot>>() {
+                    @Override
+                    public long expireAfterCreate(Long key, Optional<ProductSnapshot> value, long currentTime) {
+                        return value.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long key, Optional<ProductSnapshot> value, long currentTime, long currentDuration) {
+                        return value.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long key, Optional<ProductSnapshot> value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                // refresh 주기가 지난 뒤 조회되는 상품만 비동기로 갱신 (갱신 중에는 기존 값을 그대로 반환)
+                .refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+                .executor(productCallExecutor)
+                .build(new CacheLoader<>() {
+                    @Override
+                    public Optional<ProductSnapshot> load(Long key) {
+                        return loadAll(Set.of(key)).get(key);
+                    }
+
+                    @Override
+                    public Map<Long, Optional<ProductSnapshot>> loadAll(Set<? extends Long> keys) {
+                        return fetch(keys);
+                    }
+                });
+    }
+
+    // 캐시에 없는 상품들만 모아서 한 번의 feign 요청으로 조회
+    public Map<Long, Optional<ProductSnapshot>> getAll(List<Long> productIds) {
+        return cache.getAll(productIds);
+    }
+
+    private Map<Long, Optional<ProductSnapshot>> fetch(Set<? extends Long> productIds) {
+        CommonDto commonDto = productFeignClient.getProductsByIds(new ArrayList<>(productIds));
+        List<ProductDto> products = objectMapper.convertValue(commonDto.getResult(), new TypeReference<List<ProductDto>>() {});
+
+        Map<Long, Optional<ProductSnapshot>> result = new HashMap<>();
+        for (Long productId : productIds) {
+            result.put(productId, Optional.empty());
+        }
+        for (ProductDto product : products) {
+            result.put(product.getId(), Optional.of(ProductSnapshot.fromProductDto(product)));
+        }
+        return result;
+    }
+}
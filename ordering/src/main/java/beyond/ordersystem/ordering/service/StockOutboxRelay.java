@@ -0,0 +1,132 @@
+package beyond.ordersystem.ordering.service;
+
+import beyond.ordersystem.ordering.domain.StockOutbox;
+import beyond.ordersystem.ordering.dto.StockEvent;
+import beyond.ordersystem.ordering.repository.StockOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// stock_outbox 테이블에 쌓인 재고 감소 이벤트를 배치 단위로 kafka에 발행
+@Slf4j
+@Component
+public class StockOutboxRelay {
+
+    private static final String TOPIC = "stock-update-topic";
+
+    private final StockOutboxRepository stockOutboxRepository;
+    private final KafkaTemplate<String, StockEvent> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ordering.outbox.batch-size:500}")
+    private int batchSize;
+
+    // broker ack를 기다리는 최대 시간 (배치 전체 기준)
+    @Value("${ordering.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    // 가져간 행을 다른 relay가 가져가지 못하게 막는 시간 (send-timeout보다 길게)
+    @Value("${ordering.outbox.claim-lease-ms:60000}")
+    private long claimLeaseMs;
+
+    // 한 주기에 처리할 최대 배치 수 (scheduler thread를 한 주기가 계속 점유하지 않도록 제한)
+    @Value("${ordering.outbox.max-batches-per-cycle:20}")
+    private int maxBatchesPerCycle;
+
+    public StockOutboxRelay(StockOutboxRepository stockOutboxRepository, KafkaTemplate<String, StockEvent> kafkaTemplate, PlatformTransactionManager transactionManager) {
+        this.stockOutboxRepository = stockOutboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${ordering.outbox.poll-interval-ms:100}")
+    public void relay() {
+        // 가득 찬 배치가 나오는 동안은 쉬지 않고 계속 비움 (최대 배치 수까지)
+        for (int i = 0; i < maxBatchesPerCycle; i++) {
+            if (relayBatch() < batchSize) {
+                break;
+            }
+        }
+    }
+
+    // 1. 짧은 트랜잭션으로 행을 가져가서(claim) 커밋
+    // 2. 트랜잭션 밖에서 kafka 발행 (발행 중에는 db 커넥션/row lock을 잡지 않음)
+    // 3. 짧은 트랜잭션으로 ack된 행 삭제, 실패한 행은 claim 해제
+    // 발행 후 삭제 전에 종료되면 claim 만료 후 재발행되며, 중복 이벤트는 product에서 이벤트 id로 걸러냄
+    // 반환값: 모두 발행된 경우 배치 크기, 발행 실패가 있으면 0
+    private int relayBatch() {
+        List<StockOutbox> batch = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<StockOutbox> claimed = stockOutboxRepository.findRelayBatch(now, PageRequest.of(0, batchSize));
+            LocalDateTime until = now.plus(Duration.ofMillis(claimLeaseMs));
+            claimed.forEach(outbox -> outbox.claim(until));
+            return claimed;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        // 배치 전체를 먼저 send 한 뒤 ack를 기다림
+        List<CompletableFuture<SendResult<String, StockEvent>>> futures = new ArrayList<>();
+        for (StockOutbox outbox : batch) {
+            StockEvent event = StockEvent.builder()
+                    .eventId(outbox.getId())
+                    .orderingId(outbox.getOrderingId())
+                    .productId(outbox.getProductId())
+                    .productCount(outbox.getProductCount())
+                    .build();
+            futures.add(send(outbox, event));
+        }
+
+        // broker가 ack한 행만 삭제하고, 실패한 행은 남겨두어 다음 주기에 재발행
+        long deadline = System.currentTimeMillis() + sendTimeoutMs;
+        List<Long> ackedIds = new ArrayList<>();
+        List<Long> failedIds = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Long id = batch.get(i).getId();
+            try {
+                futures.get(i).get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                ackedIds.add(id);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failedIds.add(id);
+            } catch (Exception e) {
+                log.error("stock outbox 발행 실패 id={}: {}", id, e.getMessage());
+                failedIds.add(id);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            stockOutboxRepository.deleteAllByIdInBatch(ackedIds);
+            if (!failedIds.isEmpty()) {
+                stockOutboxRepository.releaseClaims(failedIds);
+            }
+        });
+
+        // 발행 실패가 있으면 이번 주기는 여기서 멈추고 다음 주기에 재시도
+        return failedIds.isEmpty() ? batch.size() : 0;
+    }
+
+    // send 호출 자체가 예외를 던지는 경우(직렬화 실패, metadata 조회 timeout, buffer 부족 등)도 실패한 future로 바꿔서
+    // 비동기 발행 실패와 같이 claim을 해제 (예외가 배치 밖으로 나가면 나머지 행의 ack 확인/삭제를 하지 못함)
+    private CompletableFuture<SendResult<String, StockEvent>> send(StockOutbox outbox, StockEvent event) {
+        try {
+            // 상품 id를 key로 보내서 같은 상품의 재고 이벤트는 같은 partition에 순서대로 쌓이도록 함
+            return kafkaTemplate.send(TOPIC, String.valueOf(outbox.getProductId()), event);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
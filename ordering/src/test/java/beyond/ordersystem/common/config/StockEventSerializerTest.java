@@ -0,0 +1,56 @@
+package beyond.ordersystem.common.config;
+
+import beyond.ordersystem.ordering.dto.StockEvent;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockEventSerializerTest {
+
+    private static final String TOPIC = "stock-update-topic";
+
+    private final StockEventSerializer serializer = new StockEventSerializer();
+
+    @Test
+    void writesVersion1Layout() {
+        StockEvent event = StockEvent.builder().eventId(11L).orderingId(22L).productId(33L).productCount(4).build();
+
+        byte[] data = serializer.serialize(TOPIC, event);
+
+        // [version:1][eventId:8][orderingId:8][productId:8][productCount:4]
+        assertThat(data).hasSize(29);
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        assertThat(buffer.get()).isEqualTo((byte) 1);
+        assertThat(buffer.getLong()).isEqualTo(11L);
+        assertThat(buffer.getLong()).isEqualTo(22L);
+        assertThat(buffer.getLong()).isEqualTo(33L);
+        assertThat(buffer.getInt()).isEqualTo(4);
+    }
+
+    @Test
+    void writesBigEndian() {
+        StockEvent event = StockEvent.builder().eventId(1L).orderingId(0L).productId(0L).productCount(0).build();
+
+        byte[] data = serializer.serialize(TOPIC, event);
+
+        assertThat(data[8]).isEqualTo((byte) 1);
+        assertThat(data[1]).isZero();
+    }
+
+    @Test
+    void writesMissingIdsAsZero() {
+        StockEvent event = StockEvent.builder().productId(33L).productCount(1).build();
+
+        ByteBuffer buffer = ByteBuffer.wrap(serializer.serialize(TOPIC, event), 1, 16);
+
+        assertThat(buffer.getLong()).isZero();
+        assertThat(buffer.getLong()).isZero();
+    }
+
+    @Test
+    void nullEventIsNullRecord() {
+        assertThat(serializer.serialize(TOPIC, null)).isNull();
+    }
+}
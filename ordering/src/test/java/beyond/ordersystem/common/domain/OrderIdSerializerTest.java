@@ -0,0 +1,71 @@
+package beyond.ordersystem.common.domain;
+
+import beyond.ordersystem.ordering.domain.OrderStatus;
+import beyond.ordersystem.ordering.dto.OrderCursorResDto;
+import beyond.ordersystem.ordering.dto.OrderDetailDto;
+import beyond.ordersystem.ordering.dto.OrderListResDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderIdSerializerTest {
+
+    // time 전략 id (2^53 = 9007199254740992 보다 큼)
+    private static final long TIME_ID = 1_234_567_890_123_456_789L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterEach
+    void tearDown() {
+        OrderIdSerializer.setWriteAsString(false);
+    }
+
+    private OrderCursorResDto page() {
+        OrderListResDto order = OrderListResDto.builder()
+                .orderingId(TIME_ID)
+                .orderStatus(OrderStatus.ORDERED)
+                .memberEmail("user@naver.com")
+                .orderDetails(List.of(OrderDetailDto.builder().detailId(TIME_ID + 1).productName("상품").productCount(2).build()))
+                .build();
+        return OrderCursorResDto.builder().orders(List.of(order)).nextCursor(TIME_ID).build();
+    }
+
+    @Test
+    void writesIdsAsStringsForTimeStrategy() throws Exception {
+        OrderIdSerializer.setWriteAsString(true);
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(page()));
+
+        JsonNode order = json.get("orders").get(0);
+        assertThat(order.get("orderingId").isTextual()).isTrue();
+        assertThat(order.get("orderingId").asText()).isEqualTo(String.valueOf(TIME_ID));
+        assertThat(order.get("orderDetails").get(0).get("detailId").asText()).isEqualTo(String.valueOf(TIME_ID + 1));
+        assertThat(order.get("orderDetails").get(0).get("productCount").isNumber()).isTrue();
+        assertThat(json.get("nextCursor").asText()).isEqualTo(String.valueOf(TIME_ID));
+        assertThat(OrderIdSerializer.toResponse(TIME_ID)).isEqualTo(String.valueOf(TIME_ID));
+    }
+
+    @Test
+    void writesIdsAsNumbersForSequenceStrategy() throws Exception {
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(page()));
+
+        assertThat(json.get("orders").get(0).get("orderingId").isNumber()).isTrue();
+        assertThat(json.get("nextCursor").asLong()).isEqualTo(TIME_ID);
+        assertThat(OrderIdSerializer.toResponse(TIME_ID)).isEqualTo(TIME_ID);
+    }
+
+    @Test
+    void readsStringIdBack() throws Exception {
+        OrderIdSerializer.setWriteAsString(true);
+
+        OrderCursorResDto read = objectMapper.readValue(objectMapper.writeValueAsString(page()), OrderCursorResDto.class);
+
+        assertThat(read.getNextCursor()).isEqualTo(TIME_ID);
+        assertThat(read.getOrders().get(0).getOrderingId()).isEqualTo(TIME_ID);
+    }
+}
@@ -0,0 +1,82 @@
+package beyond.ordersystem.ordering.service;
+
+import beyond.ordersystem.ordering.domain.OrderStatus;
+import beyond.ordersystem.ordering.dto.OrderExportRow;
+import beyond.ordersystem.ordering.repository.OrderingRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderExportServiceTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private OrderingRepository orderingRepository;
+    private OrderExportService orderExportService;
+
+    @BeforeEach
+    void setUp() {
+        orderingRepository = mock(OrderingRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        orderExportService = new OrderExportService(orderingRepository, objectMapper, transactionManager);
+    }
+
+    private List<String> export(OrderExportRow... rows) throws Exception {
+        when(orderingRepository.streamForExport(null, null, null)).thenReturn(Stream.of(rows));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        orderExportService.export(null, null, null, outputStream);
+        String output = outputStream.toString(StandardCharsets.UTF_8);
+        // 모든 줄은 줄바꿈으로 끝남
+        assertThat(output).endsWith("\n");
+        return List.of(output.split("\n"));
+    }
+
+    @Test
+    void writesOneParsableJsonObjectPerLine() throws Exception {
+        List<String> lines = export(
+                new OrderExportRow(1L, OrderStatus.ORDERED, "a@naver.com", CREATED, 10L, "사과", 2),
+                new OrderExportRow(1L, OrderStatus.ORDERED, "a@naver.com", CREATED, 11L, "배", 1),
+                new OrderExportRow(2L, OrderStatus.CANCELED, "b@naver.com", CREATED, 12L, "귤", 3),
+                new OrderExportRow(3L, OrderStatus.ORDERED, "c@naver.com", CREATED, null, null, null));
+
+        assertThat(lines).hasSize(3);
+        List<JsonNode> orders = new ArrayList<>();
+        for (String line : lines) {
+            // 줄 앞뒤에 구분자(공백 등)가 붙지 않음
+            assertThat(line).startsWith("{").endsWith("}");
+            orders.add(objectMapper.readTree(line));
+        }
+        assertThat(orders.get(0).get("orderingId").asLong()).isEqualTo(1L);
+        assertThat(orders.get(0).get("orderDetails")).hasSize(2);
+        assertThat(orders.get(0).get("orderDetails").get(1).get("productName").asText()).isEqualTo("배");
+        assertThat(orders.get(1).get("orderStatus").asText()).isEqualTo("CANCELED");
+        assertThat(orders.get(2).get("orderDetails")).isEmpty();
+    }
+
+    @Test
+    void writesNothingWhenNoOrders() throws Exception {
+        when(orderingRepository.streamForExport(null, null, null)).thenReturn(Stream.empty());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        orderExportService.export(null, null, null, outputStream);
+
+        assertThat(outputStream.size()).isZero();
+    }
+}
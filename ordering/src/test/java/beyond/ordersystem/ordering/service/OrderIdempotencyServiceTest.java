@@ -0,0 +1,162 @@
+package beyond.ordersystem.ordering.service;
+
+import beyond.ordersystem.ordering.dto.OrderCreateDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderIdempotencyServiceTest {
+
+    private static final String EMAIL = "user@naver.com";
+    private static final String IDEMPOTENCY_KEY = "retry-1";
+    private static final String KEY = "idempotency:order:" + EMAIL + ":" + IDEMPOTENCY_KEY;
+    private static final List<OrderCreateDto> DTOS = List.of(new OrderCreateDto(1L, 2), new OrderCreateDto(3L, 1));
+    private static final String FINGERPRINT = OrderIdempotencyService.fingerprint(DTOS);
+    private static final String IN_PROGRESS = "IN_PROGRESS:" + FINGERPRINT;
+
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private OrderIdempotencyService service;
+    private final AtomicInteger createCount = new AtomicInteger();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1L);
+        service = new OrderIdempotencyService(redisTemplate, 30, 86400, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private Long createOrder() {
+        createCount.incrementAndGet();
+        return 7L;
+    }
+
+    @Test
+    void withoutKeyCreatesOrderWithoutRedis() {
+        OrderIdempotencyService.Result result = service.execute(null, EMAIL, DTOS, this::createOrder);
+
+        assertThat(result.orderingId()).isEqualTo(7L);
+        assertThat(result.replayed()).isFalse();
+        verify(redisTemplate, never()).opsForValue();
+    }
+
+    @Test
+    void firstRequestCreatesOrderAndStoresResult() {
+        when(valueOperations.setIfAbsent(eq(KEY), eq(IN_PROGRESS), any(Duration.class))).thenReturn(true);
+
+        OrderIdempotencyService.Result result = service.execute(IDEMPOTENCY_KEY, EMAIL, DTOS, this::createOrder);
+
+        assertThat(result.orderingId()).isEqualTo(7L);
+        assertThat(result.replayed()).isFalse();
+        assertThat(createCount).hasValue(1);
+        // 처리 중 표시가 자신의 것일 때만 결과로 교체
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(KEY)),
+                eq(IN_PROGRESS), eq("DONE:" + FINGERPRINT + ":7"), eq("86400000"));
+    }
+
+    @Test
+    void completedKeyReturnsStoredResultWithoutCreatingOrder() {
+        when(valueOperations.setIfAbsent(eq(KEY), eq(IN_PROGRESS), any(Duration.class))).thenReturn(false);
+        when(valueOperations.get(KEY)).thenReturn("DONE:" + FINGERPRINT + ":42");
+
+        OrderIdempotencyService.Result result = service.execute(IDEMPOTENCY_KEY, EMAIL, DTOS, this::createOrder);
+
+        assertThat(result.orderingId()).isEqualTo(42L);
+        assertThat(result.replayed()).isTrue();
+        assertThat(createCount).hasValue(0);
+    }
+
+    @Test
+    void sameKeyWithDifferentPayloadIsRejected() {
+        when(valueOperations.setIfAbsent(eq(KEY), any(), any(Duration.class))).thenReturn(false);
+        when(valueOperations.get(KEY)).thenReturn("DONE:" + FINGERPRINT + ":42");
+
+        List<OrderCreateDto> otherDtos = List.of(new OrderCreateDto(1L, 5));
+        assertThatThrownBy(() -> service.execute(IDEMPOTENCY_KEY, EMAIL, otherDtos, this::createOrder))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(createCount).hasValue(0);
+    }
+
+    @Test
+    void sameKeyWithReorderedProductsReturnsStoredResult() {
+        when(valueOperations.setIfAbsent(eq(KEY), any(), any(Duration.class))).thenReturn(false);
+        when(valueOperations.get(KEY)).thenReturn("DONE:" + FINGERPRINT + ":42");
+
+        List<OrderCreateDto> reordered = List.of(new OrderCreateDto(3L, 1), new OrderCreateDto(1L, 2));
+        OrderIdempotencyService.Result result = service.execute(IDEMPOTENCY_KEY, EMAIL, reordered, this::createOrder);
+
+        assertThat(result.orderingId()).isEqualTo(42L);
+        assertThat(result.replayed()).isTrue();
+        assertThat(createCount).hasValue(0);
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForFirstResult() {
+        when(valueOperations.setIfAbsent(eq(KEY), eq(IN_PROGRESS), any(Duration.class))).thenReturn(false);
+        when(valueOperations.get(KEY)).thenReturn(IN_PROGRESS, IN_PROGRESS, "DONE:" + FINGERPRINT + ":42");
+
+        OrderIdempotencyService.Result result = service.execute(IDEMPOTENCY_KEY, EMAIL, DTOS, this::createOrder);
+
+        assertThat(result.orderingId()).isEqualTo(42L);
+        assertThat(result.replayed()).isTrue();
+        assertThat(createCount).hasValue(0);
+    }
+
+    @Test
+    void concurrentDuplicateGivesUpAfterWaitTimeout() {
+        when(valueOperations.setIfAbsent(eq(KEY), eq(IN_PROGRESS), any(Duration.class))).thenReturn(false);
+        when(valueOperations.get(KEY)).thenReturn(IN_PROGRESS);
+
+        assertThatThrownBy(() -> service.execute(IDEMPOTENCY_KEY, EMAIL, DTOS, this::createOrder))
+                .isInstanceOf(OrderInProgressException.class);
+        assertThat(createCount).hasValue(0);
+    }
+
+    @Test
+    void failedOrderReleasesKey() {
+        when(valueOperations.setIfAbsent(eq(KEY), eq(IN_PROGRESS), any(Duration.class))).thenReturn(true);
+
+        assertThatThrownBy(() -> service.execute(IDEMPOTENCY_KEY, EMAIL, DTOS, () -> {
+            throw new IllegalArgumentException("없는 상품입니다.");
+        })).isInstanceOf(IllegalArgumentException.class);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(KEY)), eq(IN_PROGRESS));
+    }
+
+    @Test
+    void resultStoreFailureStillReturnsCreatedOrder() {
+        when(valueOperations.setIfAbsent(eq(KEY), eq(IN_PROGRESS), any(Duration.class))).thenReturn(true);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("redis down"));
+
+        OrderIdempotencyService.Result result = service.execute(IDEMPOTENCY_KEY, EMAIL, DTOS, this::createOrder);
+
+        assertThat(result.orderingId()).isEqualTo(7L);
+        assertThat(createCount).hasValue(1);
+    }
+}
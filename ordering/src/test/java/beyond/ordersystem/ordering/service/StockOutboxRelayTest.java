@@ -0,0 +1,79 @@
+package beyond.ordersystem.ordering.service;
+
+import beyond.ordersystem.ordering.domain.StockOutbox;
+import beyond.ordersystem.ordering.dto.StockEvent;
+import beyond.ordersystem.ordering.repository.StockOutboxRepository;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockOutboxRelayTest {
+
+    private static final String TOPIC = "stock-update-topic";
+
+    private StockOutboxRepository stockOutboxRepository;
+    private KafkaTemplate<String, StockEvent> kafkaTemplate;
+    private StockOutboxRelay stockOutboxRelay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        stockOutboxRepository = mock(StockOutboxRepository.class);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        stockOutboxRelay = new StockOutboxRelay(stockOutboxRepository, kafkaTemplate, transactionManager);
+        ReflectionTestUtils.setField(stockOutboxRelay, "batchSize", 10);
+        ReflectionTestUtils.setField(stockOutboxRelay, "sendTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(stockOutboxRelay, "claimLeaseMs", 60000L);
+        ReflectionTestUtils.setField(stockOutboxRelay, "maxBatchesPerCycle", 1);
+    }
+
+    private StockOutbox outbox(long id, long productId) {
+        return StockOutbox.builder().id(id).orderingId(100L).productId(productId).productCount(1).build();
+    }
+
+    @Test
+    void releasesClaimWhenSendThrowsSynchronously() {
+        when(stockOutboxRepository.findRelayBatch(any(), any())).thenReturn(List.of(outbox(1L, 11L), outbox(2L, 22L), outbox(3L, 33L)));
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any(StockEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(kafkaTemplate.send(eq(TOPIC), eq("22"), any(StockEvent.class)))
+                .thenThrow(new TimeoutException("metadata not available"));
+
+        stockOutboxRelay.relay();
+
+        // 예외가 난 행 이후의 행도 발행되고, ack된 행만 삭제
+        verify(stockOutboxRepository).deleteAllByIdInBatch(List.of(1L, 3L));
+        verify(stockOutboxRepository).releaseClaims(List.of(2L));
+    }
+
+    @Test
+    void releasesClaimWhenSendFailsAsynchronously() {
+        when(stockOutboxRepository.findRelayBatch(any(), any())).thenReturn(List.of(outbox(1L, 11L), outbox(2L, 22L)));
+        when(kafkaTemplate.send(eq(TOPIC), eq("11"), any(StockEvent.class)))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker not available")));
+        when(kafkaTemplate.send(eq(TOPIC), eq("22"), any(StockEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        stockOutboxRelay.relay();
+
+        verify(stockOutboxRepository).deleteAllByIdInBatch(List.of(2L));
+        verify(stockOutboxRepository).releaseClaims(List.of(1L));
+    }
+}
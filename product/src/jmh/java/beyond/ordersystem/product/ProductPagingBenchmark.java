@@ -0,0 +1,135 @@
+package beyond.ordersystem.product;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// 상품 목록 페이지 조회 비교: offset 페이징(/product/list) vs seek 페이징(/product/list/scroll)
+// - 상품 100만 건, 가격순(price desc, id desc) 20개씩, 페이지 깊이별로 같은 페이지를 조회
+// - 쿼리는 ProductSpecification.after가 만드는 조건과 같은 형태 ((price < ?) or (price = ? and id < ?))
+// - in-memory h2 기준이므로 절대값보다는 깊이에 따른 증가 추세를 비교 (운영 db에서는 디스크 I/O로 차이가 더 커짐)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductPagingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final String OFFSET_QUERY =
+            "select id, name, price from product order by price desc, id desc limit ? offset ?";
+    private static final String SEEK_QUERY =
+            "select id, name, price from product where (price < ? or (price = ? and id < ?)) order by price desc, id desc limit ?";
+
+    @Param({"1000000"})
+    private int products;
+
+    // 조회할 페이지 번호 (0부터)
+    @Param({"1", "100", "10000", "49000"})
+    private int page;
+
+    private Connection connection;
+    private PreparedStatement offsetQuery;
+    private PreparedStatement seekQuery;
+    // 조회할 페이지 직전 상품의 (price, id) = 이전 페이지 응답의 cursor
+    private int cursorPrice;
+    private long cursorId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:paging;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists product");
+            statement.execute("create table product (id bigint primary key, name varchar(255) not null, price int not null)");
+        }
+        insertProducts();
+        try (Statement statement = connection.createStatement()) {
+            // Product 엔티티의 idx_product_price
+            statement.execute("create index idx_product_price on product (price, id)");
+        }
+
+        offsetQuery = connection.prepareStatement(OFFSET_QUERY);
+        seekQuery = connection.prepareStatement(SEEK_QUERY);
+
+        // 직전 페이지의 마지막 상품으로 cursor 생성
+        try (PreparedStatement previous = connection.prepareStatement(OFFSET_QUERY)) {
+            previous.setInt(1, 1);
+            previous.setLong(2, (long) page * PAGE_SIZE - 1);
+            try (ResultSet resultSet = previous.executeQuery()) {
+                resultSet.next();
+                cursorId = resultSet.getLong(1);
+                cursorPrice = resultSet.getInt(3);
+            }
+        }
+    }
+
+    private void insertProducts() throws SQLException {
+        Random random = new Random(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("insert into product (id, name, price) values (?, ?, ?)")) {
+            for (int id = 1; id <= products; id++) {
+                insert.setLong(1, id);
+                insert.setString(2, "상품" + id);
+                // 가격이 같은 상품이 많도록 100원 단위
+                insert.setInt(3, (random.nextInt(1000) + 1) * 100);
+                insert.addBatch();
+                if (id % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        offsetQuery.close();
+        seekQuery.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table product");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long offsetPage() throws SQLException {
+        offsetQuery.setInt(1, PAGE_SIZE);
+        offsetQuery.setLong(2, (long) page * PAGE_SIZE);
+        return read(offsetQuery);
+    }
+
+    @Benchmark
+    public long seekPage() throws SQLException {
+        seekQuery.setInt(1, cursorPrice);
+        seekQuery.setInt(2, cursorPrice);
+        seekQuery.setLong(3, cursorId);
+        seekQuery.setInt(4, PAGE_SIZE);
+        return read(seekQuery);
+    }
+
+    private long read(PreparedStatement query) throws SQLException {
+        long checksum = 0;
+        try (ResultSet resultSet = query.executeQuery()) {
+            while (resultSet.next()) {
+                checksum += resultSet.getLong(1);
+            }
+        }
+        return checksum;
+    }
+}
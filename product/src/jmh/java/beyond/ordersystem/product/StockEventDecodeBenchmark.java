@@ -0,0 +1,63 @@
+package beyond.ordersystem.product;
+
+import beyond.ordersystem.common.config.StockEventDeserializer;
+import beyond.ordersystem.product.dto.ProductUpdateStockDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+// 재고 이벤트 해석 비교: StockEventDeserializer의 binary 경로 vs json 경로(배포 전환 기간의 json 메시지)
+// - 입력은 ordering-service가 보내는 메시지와 같은 형태 (binary version 1 layout 29 bytes, json 약 80 bytes)
+// - 직렬화 비교는 ordering-service의 StockEventCodecBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StockEventDecodeBenchmark {
+
+    private static final String TOPIC = "stock-update-topic";
+
+    private final StockEventDeserializer deserializer = new StockEventDeserializer();
+
+    private byte[] binary;
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        // 실제 outbox/주문/상품 id와 비슷한 자릿수
+        ProductUpdateStockDto event = ProductUpdateStockDto.builder()
+                .eventId(1_234_567_890L)
+                .orderingId(987_654_321L)
+                .productId(12_345L)
+                .productCount(3)
+                .build();
+        // [version:1][eventId:8][orderingId:8][productId:8][productCount:4]
+        binary = ByteBuffer.allocate(1 + Long.BYTES * 3 + Integer.BYTES)
+                .put((byte) 1)
+                .putLong(event.getEventId())
+                .putLong(event.getOrderingId())
+                .putLong(event.getProductId())
+                .putInt(event.getProductCount())
+                .array();
+        json = new ObjectMapper().writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public ProductUpdateStockDto deserializeBinary() {
+        return deserializer.deserialize(TOPIC, binary);
+    }
+
+    @Benchmark
+    public ProductUpdateStockDto deserializeJson() {
+        return deserializer.deserialize(TOPIC, json);
+    }
+}
@@ -0,0 +1,66 @@
+package beyond.ordersystem.common.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// 쓰기/읽기 커넥션 pool 분리
+// - @Transactional(readOnly = true) 조회는 읽기 pool(read replica), 그 외에는 쓰기 pool(primary) 사용
+// - 조회 쿼리가 쓰기 작업과 커넥션을 두고 경쟁하지 않도록 pool 크기를 따로 설정
+// - 읽기 db 주소(spring.datasource.read.jdbc-url)를 설정하지 않으면 primary db에 pool만 분리해서 사용
+// - pool 이름(write-pool, read-pool)별로 커넥션 사용량이 따로 기록됨 (hikaricp.connections.*)
+@Configuration
+public class DataSourceConfig {
+
+    private static final String WRITE = "write";
+    private static final String READ = "read";
+
+    // spring.datasource의 접속 정보를 기본으로 하고 spring.datasource.write.* (maximum-pool-size 등)로 덮어씀
+    @Bean
+    @ConfigurationProperties("spring.datasource.write")
+    public HikariDataSource writeDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("write-pool");
+        return dataSource;
+    }
+
+    // spring.datasource.read.* 로 replica 접속 정보 및 pool 설정
+    @Bean
+    @ConfigurationProperties("spring.datasource.read")
+    public HikariDataSource readDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("read-pool");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    // 트랜잭션 시작 시점에는 readOnly 여부가 아직 등록되지 않으므로, 첫 쿼리를 실행할 때 커넥션을 가져오도록 지연시킴
+    // (커넥션이 필요 없는 트랜잭션은 pool에서 커넥션을 꺼내지 않는 효과도 있음)
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+                                 @Qualifier("readDataSource") DataSource readDataSource) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(WRITE, writeDataSource, READ, readDataSource));
+        routingDataSource.setDefaultTargetDataSource(writeDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? READ : WRITE;
+        }
+    }
+}
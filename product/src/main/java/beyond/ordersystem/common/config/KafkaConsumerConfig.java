@@ -1,5 +1,6 @@
 package beyond.ordersystem.common.config;
 
+import beyond.ordersystem.product.dto.ProductUpdateStockDto;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,6 +9,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -24,21 +26,32 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.consumer.auto-offset-reset}")
     private String offset;
 
+    // 한 번의 poll로 가져올 최대 메시지 수 (batch listener의 배치 크기)
+    @Value("${spring.kafka.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
     @Bean
-    public ConsumerFactory<String, Object> consumerFactory() {
+    public ConsumerFactory<String, ProductUpdateStockDto> consumerFactory() {
         Map<String, Object> config = new HashMap<>();
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaServer);
         config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, offset);
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        // offset은 listener 처리가 끝난 뒤 container가 직접 commit
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        // 재고 이벤트는 binary 포맷으로 수신 (이전 json 메시지도 해석 가능)
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StockEventDeserializer.class);
         return new DefaultKafkaConsumerFactory<>(config);
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListener() {
-        ConcurrentKafkaListenerContainerFactory<String, String> listener = new ConcurrentKafkaListenerContainerFactory<>();
+    public ConcurrentKafkaListenerContainerFactory<String, ProductUpdateStockDto> kafkaListener() {
+        ConcurrentKafkaListenerContainerFactory<String, ProductUpdateStockDto> listener = new ConcurrentKafkaListenerContainerFactory<>();
         listener.setConsumerFactory(consumerFactory());
+        // poll 단위로 메시지를 묶어서 전달받고, 배치 처리가 끝난 뒤에 offset commit
+        listener.setBatchListener(true);
+        listener.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
         return listener;
     }
 }
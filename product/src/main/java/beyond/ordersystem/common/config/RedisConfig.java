@@ -0,0 +1,69 @@
+package beyond.ordersystem.common.config;
+
+import beyond.ordersystem.product.service.ProductDetailCache;
+import beyond.ordersystem.product.service.ProductSearchIndex;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+@Configuration
+public class RedisConfig {
+
+    @Value("${spring.data.redis.host}")
+    private String host;
+
+    @Value("${spring.data.redis.port}")
+    private int port;
+
+    @Bean
+    public RedisConnectionFactory redisConnectionFactory() {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration();
+        configuration.setHostName(host);
+        configuration.setPort(port);
+        configuration.setDatabase(0);
+
+        return new LettuceConnectionFactory(configuration);
+    }
+
+    // 상품별 재고 카운터를 관리하는 template
+    @Bean
+    @Qualifier("stockInventory")
+    public RedisTemplate<String, String> stockRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+        RedisTemplate<String, String> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.setConnectionFactory(redisConnectionFactory);
+        return redisTemplate;
+    }
+
+    // 상품 상세 캐시 및 캐시 무효화 메시지 발행용 template
+    @Bean
+    @Qualifier("productCache")
+    public RedisTemplate<String, String> productCacheRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+        RedisTemplate<String, String> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.setConnectionFactory(redisConnectionFactory);
+        return redisTemplate;
+    }
+
+    // 다른 pod에서 발행한 상품 캐시 무효화 / 검색 색인 갱신 메시지를 수신하는 리스너
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                       ProductDetailCache productDetailCache,
+                                                                       ProductSearchIndex productSearchIndex) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(productDetailCache, new ChannelTopic(ProductDetailCache.INVALIDATION_CHANNEL));
+        container.addMessageListener(productSearchIndex, new ChannelTopic(ProductSearchIndex.UPDATE_CHANNEL));
+        return container;
+    }
+}
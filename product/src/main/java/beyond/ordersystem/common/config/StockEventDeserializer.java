@@ -0,0 +1,58 @@
+package beyond.ordersystem.common.config;
+
+import beyond.ordersystem.product.dto.ProductUpdateStockDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// ordering-service의 StockEventSerializer가 만든 binary 재고 이벤트를 해석
+// version 1 layout (big-endian, 29 bytes)
+// [version:1][eventId:8][orderingId:8][productId:8][productCount:4]
+// 배포 전환 기간 동안 남아있는 json 메시지('{'로 시작)도 해석
+// 해석할 수 없는 메시지는 null을 반환하고 listener에서 건너뜀
+@Slf4j
+public class StockEventDeserializer implements Deserializer<ProductUpdateStockDto> {
+
+    private static final byte VERSION_1 = 1;
+    private static final int VERSION_1_SIZE = 1 + Long.BYTES * 3 + Integer.BYTES;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public ProductUpdateStockDto deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        if (data[0] == '{') {
+            return fromJson(data);
+        }
+        if (data[0] != VERSION_1 || data.length < VERSION_1_SIZE) {
+            log.error("지원하지 않는 재고 메시지 version={}, size={}", data[0], data.length);
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(data, 1, VERSION_1_SIZE - 1);
+        long eventId = buffer.getLong();
+        long orderingId = buffer.getLong();
+        long productId = buffer.getLong();
+        int productCount = buffer.getInt();
+        return ProductUpdateStockDto.builder()
+                .eventId(eventId == 0 ? null : eventId)
+                .orderingId(orderingId == 0 ? null : orderingId)
+                .productId(productId)
+                .productCount(productCount)
+                .build();
+    }
+
+    private ProductUpdateStockDto fromJson(byte[] data) {
+        try {
+            return objectMapper.readValue(data, ProductUpdateStockDto.class);
+        } catch (IOException e) {
+            log.error("재고 메시지 파싱 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+}
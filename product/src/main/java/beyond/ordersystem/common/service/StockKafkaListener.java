@@ -2,26 +2,31 @@ package beyond.ordersystem.common.service;
 
 import beyond.ordersystem.product.dto.ProductUpdateStockDto;
 import beyond.ordersystem.product.service.ProductService;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
 @Component
 @RequiredArgsConstructor
 public class StockKafkaListener {
 
     private final ProductService productService;
 
+    // poll 단위로 메시지를 한 번에 받아 처리 (batch listener)
+    // 메시지는 StockEventDeserializer에서 바로 dto로 해석되어 들어옴
     @KafkaListener(topics = "stock-update-topic", containerFactory = "kafkaListener") // containerFactory -> method명
-    public void stockConsumer(String message) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        try {
-            ProductUpdateStockDto dto = objectMapper.readValue(message, ProductUpdateStockDto.class);
-            productService.updateStock(dto);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+    public void stockConsumer(List<ProductUpdateStockDto> messages) {
+        // 잘못된 메시지(null) 하나 때문에 배치 전체가 재처리되지 않도록 건너뜀
+        List<ProductUpdateStockDto> dtos = new ArrayList<>(messages.size());
+        for (ProductUpdateStockDto message : messages) {
+            if (Objects.nonNull(message)) {
+                dtos.add(message);
+            }
         }
+        productService.updateStocks(dtos);
     }
 }
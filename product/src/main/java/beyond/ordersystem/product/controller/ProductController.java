@@ -2,6 +2,7 @@ package beyond.ordersystem.product.controller;
 
 import beyond.ordersystem.common.dto.CommonDto;
 import beyond.ordersystem.product.dto.*;
+import beyond.ordersystem.product.service.ProductImageService;
 import beyond.ordersystem.product.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -13,12 +14,15 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/product")
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImageService productImageService;
 
     // 1. 상품 등록: /product/create
     @PostMapping("/create")
@@ -31,6 +35,7 @@ public class ProductController {
     }
 
     // 상품 목록 조회
+    // sort: id,desc(기본) | id,asc | relevance (상품명 검색 시 관련도 순) 등
     @GetMapping("/list")
     public ResponseEntity<?> getProductList(@PageableDefault(size = 5, sort = "id", direction = Sort.Direction.DESC) Pageable pageable, ProductSearchDto dto) {
         Page<ProductResDto> productList = productService.getProductList(pageable, dto);
@@ -40,6 +45,20 @@ public class ProductController {
                 , HttpStatus.OK);
     }
 
+    // 상품 목록 조회 (무한 스크롤용 cursor 페이징, 전체 개수는 제공하지 않음)
+    // cursor: 이전 응답의 nextCursor, sort: id,desc(기본) | id,asc | price,asc | price,desc
+    @GetMapping("/list/scroll")
+    public ResponseEntity<?> getProductScroll(ProductSearchDto dto,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "id,desc") String sort,
+                                              @RequestParam(defaultValue = "20") int size) {
+        ProductScrollResDto productScrollResDto = productService.getProductScroll(dto, sort, cursor, Math.max(1, Math.min(size, 100)));
+
+        return new ResponseEntity<>(
+                new CommonDto(productScrollResDto, HttpStatus.OK.value(), "상품 목록 조회 성공")
+                , HttpStatus.OK);
+    }
+
     // 상품 상세 조회 (-> 캐싱 처리 고려)
     @GetMapping("/detail/{inputId}")
     public ResponseEntity<?> getProductDetail(@PathVariable Long inputId) throws InterruptedException {
@@ -52,6 +71,16 @@ public class ProductController {
         );
     }
 
+    // 상품 일괄 조회 (주문 생성 시 feign을 통해 한 번에 조회)
+    @PostMapping("/details")
+    public ResponseEntity<?> getProductDetails(@RequestBody List<Long> ids) {
+        List<ProductResDto> productResDtoList = productService.getProductDetails(ids);
+        return new ResponseEntity<>(
+                new CommonDto(productResDtoList, HttpStatus.OK.value(), "상품 목록 조회 성공"),
+                HttpStatus.OK
+        );
+    }
+
     // 상품 수정
     @PutMapping("/update/{inputId}")
     public ResponseEntity<?> updateProduct(@PathVariable Long inputId, @ModelAttribute @Valid ProductUpdateDto dto) {
@@ -62,6 +91,26 @@ public class ProductController {
         );
     }
 
+    // 상품 이미지 업로드 url 발급 (client는 발급받은 url로 s3에 직접 업로드)
+    @PostMapping("/{inputId}/image/upload-url")
+    public ResponseEntity<?> createImageUploadUrl(@PathVariable Long inputId, @RequestBody @Valid ProductImageUploadReqDto dto) {
+        ProductImageUploadResDto productImageUploadResDto = productImageService.createUploadUrl(inputId, dto.getContentType());
+
+        return new ResponseEntity<>(
+                new CommonDto(productImageUploadResDto, HttpStatus.OK.value(), "이미지 업로드 url 발급 완료")
+                , HttpStatus.OK);
+    }
+
+    // 상품 이미지 업로드 완료 처리 (업로드된 이미지를 상품 이미지로 등록)
+    @PostMapping("/{inputId}/image/finalize")
+    public ResponseEntity<?> finalizeImageUpload(@PathVariable Long inputId, @RequestBody @Valid ProductImageFinalizeDto dto) {
+        String imageUrl = productImageService.finalizeUpload(inputId, dto.getKey());
+
+        return new ResponseEntity<>(
+                new CommonDto(imageUrl, HttpStatus.OK.value(), "상품 이미지 등록 완료")
+                , HttpStatus.OK);
+    }
+
     // 상품 수량 감소
     @PutMapping("/updatestock")
     public ResponseEntity<?> updateStock(@RequestBody ProductUpdateStockDto dto) {
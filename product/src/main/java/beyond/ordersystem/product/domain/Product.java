@@ -3,8 +3,14 @@ package beyond.ordersystem.product.domain;
 import beyond.ordersystem.common.domain.BaseTimeEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+
+import java.util.HashMap;
+import java.util.Map;
 
 @Entity
+// 가격순 seek 페이징 (price, id) 조건을 인덱스로 처리
+@Table(indexes = @Index(name = "idx_product_price", columnList = "price, id"))
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -33,6 +39,17 @@ public class Product extends BaseTimeEntity {
     @Setter
     private String productImage;
 
+    // 썸네일 이미지 (key: 가로 크기(px), value: 이미지 url)
+    // 목록 조회 시 상품마다 따로 조회하지 않도록 여러 상품의 썸네일을 한 번에 조회
+    @ElementCollection
+    @CollectionTable(name = "product_image_variant", joinColumns = @JoinColumn(name = "product_id"))
+    @MapKeyColumn(name = "width")
+    @Column(name = "url")
+    @BatchSize(size = 100)
+    @Builder.Default
+    @ToString.Exclude
+    private Map<Integer, String> imageVariants = new HashMap<>();
+
     public void updateProduct(String name, String category, int price, int stockQuantity) {
         this.name = name;
         this.category = category;
@@ -40,6 +57,12 @@ public class Product extends BaseTimeEntity {
         this.stockQuantity = stockQuantity;
     }
 
+    // 썸네일 교체 (원본 이미지가 바뀌면 빈 값으로 초기화)
+    public void updateImageVariants(Map<Integer, String> imageVariants) {
+        this.imageVariants.clear();
+        this.imageVariants.putAll(imageVariants);
+    }
+
     public boolean decreaseQuantity(int orderQuantity) {
         if (this.stockQuantity < orderQuantity) {
             return false;
@@ -7,7 +7,6 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.springframework.web.multipart.MultipartFile;
 
 @Data
 @NoArgsConstructor
@@ -26,7 +25,6 @@ public class ProductCreateDto {
 
     @NotNull(message = "수량이 비어있습니다.")
     private int stockQuantity;
-    private MultipartFile productImage;
 
     public Product toEntity(String email) {
         return Product.builder()
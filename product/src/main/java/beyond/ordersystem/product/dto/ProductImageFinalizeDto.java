@@ -0,0 +1,18 @@
+package beyond.ordersystem.product.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductImageFinalizeDto {
+
+    // upload-url 발급 시 받은 key
+    @NotEmpty(message = "이미지 key가 비어있습니다.")
+    private String key;
+}
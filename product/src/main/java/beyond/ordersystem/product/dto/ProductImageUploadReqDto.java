@@ -0,0 +1,18 @@
+package beyond.ordersystem.product.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductImageUploadReqDto {
+
+    // 업로드할 이미지의 Content-Type (image/jpeg, image/png ...)
+    @NotEmpty(message = "이미지 형식이 비어있습니다.")
+    private String contentType;
+}
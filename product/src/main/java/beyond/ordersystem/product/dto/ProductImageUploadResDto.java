@@ -0,0 +1,20 @@
+package beyond.ordersystem.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// client는 uploadUrl로 이미지를 직접 PUT 한 뒤, key로 finalize 요청
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductImageUploadResDto {
+
+    private String key;
+    private String uploadUrl;
+    private Instant expiresAt;
+}
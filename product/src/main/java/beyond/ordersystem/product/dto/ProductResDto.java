@@ -6,10 +6,13 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+import java.util.TreeMap;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class ProductResDto {
 
     private Long id;
@@ -18,6 +21,8 @@ public class ProductResDto {
     private int price;
     private int stockQuantity;
     private String imagePath;
+    // 썸네일 이미지 (key: 가로 크기(px), value: 이미지 url), 필요한 크기의 이미지만 받아가도록 함
+    private Map<Integer, String> imageVariants;
 
     public static ProductResDto fromEntity(Product product) {
         return ProductResDto.builder()
@@ -27,6 +32,7 @@ public class ProductResDto {
                 .price(product.getPrice())
                 .stockQuantity(product.getStockQuantity())
                 .imagePath(product.getProductImage())
+                .imageVariants(new TreeMap<>(product.getImageVariants()))
                 .build();
     }
 }
@@ -0,0 +1,21 @@
+package beyond.ordersystem.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 상품 목록 cursor(seek) 페이징 응답 (nextCursor가 null이면 마지막 페이지)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductScrollResDto {
+
+    @Builder.Default
+    private List<ProductResDto> products = new ArrayList<>();
+    private String nextCursor;
+}
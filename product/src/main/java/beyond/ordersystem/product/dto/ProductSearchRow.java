@@ -0,0 +1,16 @@
+package beyond.ordersystem.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 검색 색인 생성 시 필요한 컬럼만 조회한 결과 (엔티티가 아니므로 영속성 컨텍스트에 쌓이지 않음)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchRow {
+
+    private Long id;
+    private String name;
+    private String category;
+}
@@ -6,7 +6,6 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.springframework.web.multipart.MultipartFile;
 
 @Data
 @NoArgsConstructor
@@ -25,6 +24,4 @@ public class ProductUpdateDto {
 
     @NotNull(message = "수량이 비어있습니다.")
     private int stockQuantity;
-
-    private MultipartFile productImage;
 }
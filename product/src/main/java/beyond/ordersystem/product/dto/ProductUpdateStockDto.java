@@ -13,4 +13,7 @@ public class ProductUpdateStockDto {
 
     private Long productId;
     private int productCount;
+    // kafka 재고 이벤트로 들어온 경우에만 값이 있음 (stock outbox id, 주문 id)
+    private Long eventId;
+    private Long orderingId;
 }
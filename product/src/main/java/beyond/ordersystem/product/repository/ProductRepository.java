@@ -1,19 +1,41 @@
 package beyond.ordersystem.product.repository;
 
 import beyond.ordersystem.product.domain.Product;
+import beyond.ordersystem.product.dto.ProductSearchRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
 
     Optional<Product> findByName(String name);
 
     // post list 조회 시에 Paging 및 검색 처리
     Page<Product> findAll(Specification<Product> specification, Pageable pageable);
+
+    // redis 재고를 db에 반영 (dirty checking 없이 바로 update)
+    @Modifying
+    @Query("update Product p set p.stockQuantity = :stockQuantity where p.id = :id")
+    int updateStockQuantity(@Param("id") Long id, @Param("stockQuantity") int stockQuantity);
+
+    // 검색 색인 생성용 전체 상품 스트리밍 조회 (fetch size 단위로 나눠서 가져옴)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new beyond.ordersystem.product.dto.ProductSearchRow(p.id, p.name, p.category) from Product p")
+    Stream<ProductSearchRow> streamSearchRows();
 }
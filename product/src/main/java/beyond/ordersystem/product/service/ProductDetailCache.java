@@ -0,0 +1,147 @@
+package beyond.ordersystem.product.service;
+
+import beyond.ordersystem.product.dto.ProductResDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+// 상품 상세 2단 캐시: pod 내부 로컬 캐시(W-TinyLFU) -> redis 공유 캐시 -> db
+// 상품이 변경되면 redis pub/sub으로 모든 pod의 로컬 캐시를 무효화
+@Slf4j
+@Component
+public class ProductDetailCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "product-cache-invalidation";
+    private static final String KEY_PREFIX = "product:detail:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, ProductResDto> localCache;
+    private final Duration redisTtl;
+    private final Counter redisHitCounter;
+    private final Counter redisMissCounter;
+
+    public ProductDetailCache(@Qualifier("productCache") RedisTemplate<String, String> redisTemplate,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${product.cache.detail.local-max-size:10000}") long localMaxSize,
+                              @Value("${product.cache.detail.local-ttl-seconds:60}") long localTtlSeconds,
+                              @Value("${product.cache.detail.redis-ttl-seconds:600}") long redisTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .recordStats()
+                .build();
+
+        // 로컬 캐시 hit ratio는 cache.gets{cache=productDetail} 지표로, redis 캐시는 아래 카운터로 확인
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "productDetail");
+        this.redisHitCounter = Counter.builder("product.detail.cache.redis").tag("result", "hit").register(meterRegistry);
+        this.redisMissCounter = Counter.builder("product.detail.cache.redis").tag("result", "miss").register(meterRegistry);
+    }
+
+    // 같은 상품에 대한 동시 miss는 로컬 캐시의 key 단위 잠금으로 한 번만 로드 (single-flight)
+    public ProductResDto get(Long id, Function<Long, ProductResDto> loader) {
+        return localCache.get(id, key -> loadThroughRedis(key, loader));
+    }
+
+    // 변경된 상품의 캐시 무효화 (트랜잭션 안이라면 커밋 이후에 무효화해서 이전 값이 다시 캐싱되지 않도록 함)
+    public void invalidate(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> targetIds = new ArrayList<>(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(targetIds);
+                }
+            });
+        } else {
+            evict(targetIds);
+        }
+    }
+
+    private void evict(List<Long> ids) {
+        List<String> keys = new ArrayList<>();
+        for (Long id : ids) {
+            keys.add(KEY_PREFIX + id);
+        }
+        localCache.invalidateAll(ids);
+        redisTemplate.delete(keys);
+        // 다른 pod의 로컬 캐시도 무효화
+        redisTemplate.convertAndSend(INVALIDATION_CHANNEL, String.join(",", ids.stream().map(String::valueOf).toList()));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        List<Long> ids = new ArrayList<>();
+        for (String id : body.split(",")) {
+            if (!id.isBlank()) {
+                ids.add(Long.parseLong(id.trim()));
+            }
+        }
+        localCache.invalidateAll(ids);
+    }
+
+    // redis 장애 시에는 redis를 건너뛰고 db에서 읽음 (상세 조회가 redis 장애로 실패하지 않도록)
+    private ProductResDto loadThroughRedis(Long id, Function<Long, ProductResDto> loader) {
+        String key = KEY_PREFIX + id;
+        ProductResDto cached = readRedis(key, id);
+        if (cached != null) {
+            redisHitCounter.increment();
+            return cached;
+        }
+
+        redisMissCounter.increment();
+        ProductResDto productResDto = loader.apply(id);
+        writeRedis(key, id, productResDto);
+        return productResDto;
+    }
+
+    private ProductResDto readRedis(String key, Long id) {
+        try {
+            String cached = redisTemplate.opsForValue().get(key);
+            return cached == null ? null : objectMapper.readValue(cached, ProductResDto.class);
+        } catch (JsonProcessingException e) {
+            log.error("상품 캐시 역직렬화 실패 id={}", id);
+        } catch (RuntimeException e) {
+            log.warn("redis 상품 캐시 조회 실패 id={}: {}", id, e.getMessage());
+        }
+        return null;
+    }
+
+    private void writeRedis(String key, Long id, ProductResDto productResDto) {
+        try {
+            redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(productResDto), redisTtl);
+        } catch (JsonProcessingException e) {
+            log.error("상품 캐시 직렬화 실패 id={}", id);
+        } catch (RuntimeException e) {
+            log.warn("redis 상품 캐시 저장 실패 id={}: {}", id, e.getMessage());
+        }
+    }
+}
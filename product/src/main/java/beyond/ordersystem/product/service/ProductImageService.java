@@ -0,0 +1,215 @@
+package beyond.ordersystem.product.service;
+
+import beyond.ordersystem.product.domain.Product;
+import beyond.ordersystem.product.dto.ProductImageUploadResDto;
+import beyond.ordersystem.product.repository.ProductRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ExpirationStatus;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.LifecycleExpiration;
+import software.amazon.awssdk.services.s3.model.LifecycleRule;
+import software.amazon.awssdk.services.s3.model.LifecycleRuleFilter;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// 상품 이미지 업로드 (presigned url)
+// 1. upload-url: 짧은 유효기간의 s3 PUT url 발급 (임시 경로 upload/ 아래의 key)
+// 2. client가 s3에 이미지를 직접 업로드 (이미지 byte가 product 서버를 거치지 않음)
+// 3. finalize: 업로드된 이미지를 확인하고 최종 key로 복사한 뒤 상품에 이미지 url 저장, 기존 이미지 삭제, 썸네일 생성 요청
+// finalize 되지 않은 업로드(중간에 그만둔 업로드, 크기 초과 등)는 upload/ 경로의 lifecycle 규칙으로 s3에서 자동 삭제
+@Slf4j
+@Service
+public class ProductImageService {
+
+    private static final String UPLOAD_PREFIX = "upload/";
+    private static final String UPLOAD_EXPIRATION_RULE_ID = "expire-unfinalized-product-image-uploads";
+    // 브라우저에서 그대로 열리는 svg(script 포함 가능)는 허용하지 않고 raster 이미지만 허용
+    private static final Set<String> ALLOWED_CONTENT_TYPES = Set.of("image/jpeg", "image/png", "image/webp", "image/gif");
+
+    private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
+    private final ProductRepository productRepository;
+    private final ProductDetailCache productDetailCache;
+    private final ProductThumbnailService productThumbnailService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${cloud.aws.s3.bucket}")
+    private String bucket;
+
+    // presigned url 유효기간
+    @Value("${cloud.aws.s3.upload-url-ttl-seconds:300}")
+    private long uploadUrlTtlSeconds;
+
+    // 허용하는 이미지 최대 크기 (presigned PUT은 크기를 제한할 수 없으므로 finalize 시 확인)
+    @Value("${cloud.aws.s3.max-image-bytes:10485760}")
+    private long maxImageBytes;
+
+    // finalize 되지 않은 업로드를 보관하는 기간 (s3 lifecycle은 일 단위)
+    @Value("${cloud.aws.s3.upload-expiration-days:1}")
+    private int uploadExpirationDays;
+
+    public ProductImageService(S3Client s3Client, S3Presigner s3Presigner, ProductRepository productRepository,
+                               ProductDetailCache productDetailCache, ProductThumbnailService productThumbnailService,
+                               PlatformTransactionManager transactionManager) {
+        this.s3Client = s3Client;
+        this.s3Presigner = s3Presigner;
+        this.productRepository = productRepository;
+        this.productDetailCache = productDetailCache;
+        this.productThumbnailService = productThumbnailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // 이미지 업로드용 presigned url 발급 (업로드마다 새로운 key를 사용해서 이전 이미지가 캐싱되어 보이지 않도록 함)
+    public ProductImageUploadResDto createUploadUrl(Long productId, String contentType) {
+        if (!productRepository.existsById(productId)) {
+            throw new EntityNotFoundException("없는 상품입니다.");
+        }
+        if (!isAllowedContentType(contentType)) {
+            throw new IllegalArgumentException("jpeg, png, webp, gif 이미지만 업로드할 수 있습니다.");
+        }
+
+        String key = UPLOAD_PREFIX + keyPrefix(productId) + UUID.randomUUID();
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build();
+        PresignedPutObjectRequest presigned = s3Presigner.presignPutObject(a -> a
+                .signatureDuration(Duration.ofSeconds(uploadUrlTtlSeconds))
+                .putObjectRequest(putObjectRequest));
+
+        return ProductImageUploadResDto.builder()
+                .key(key)
+                .uploadUrl(presigned.url().toExternalForm())
+                .expiresAt(presigned.expiration())
+                .build();
+    }
+
+    // 업로드 완료 후 상품 이미지 등록 (s3 확인은 db 트랜잭션 밖에서 처리)
+    public String finalizeUpload(Long productId, String key) {
+        if (!key.startsWith(UPLOAD_PREFIX + keyPrefix(productId))) {
+            throw new IllegalArgumentException("잘못된 이미지 key입니다.");
+        }
+
+        HeadObjectResponse head;
+        try {
+            head = s3Client.headObject(a -> a.bucket(bucket).key(key));
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                throw new IllegalArgumentException("업로드된 이미지가 없습니다.");
+            }
+            throw e;
+        }
+        if (head.contentLength() > maxImageBytes) {
+            deleteQuietly(key);
+            throw new IllegalArgumentException("이미지 크기가 너무 큽니다.");
+        }
+        if (!isAllowedContentType(head.contentType())) {
+            deleteQuietly(key);
+            throw new IllegalArgumentException("jpeg, png, webp, gif 이미지만 업로드할 수 있습니다.");
+        }
+
+        // 확인이 끝난 이미지만 임시 경로 밖(lifecycle 삭제 대상이 아닌 key)으로 복사
+        String imageKey = key.substring(UPLOAD_PREFIX.length());
+        s3Client.copyObject(a -> a.sourceBucket(bucket).sourceKey(key)
+                .destinationBucket(bucket).destinationKey(imageKey));
+        deleteQuietly(key);
+
+        String imgUrl = s3Client.utilities()
+                .getUrl(a -> a.bucket(bucket).key(imageKey))
+                .toExternalForm();
+
+        // 기존 이미지와 썸네일은 새 이미지 등록 후 삭제
+        List<String> oldImageUrls = transactionTemplate.execute(status -> {
+            Product product = productRepository.findById(productId).orElseThrow(() -> new EntityNotFoundException("없는 상품입니다."));
+            List<String> oldUrls = new ArrayList<>(product.getImageVariants().values());
+            if (product.getProductImage() != null && !product.getProductImage().equals(imgUrl)) {
+                oldUrls.add(product.getProductImage());
+            }
+            product.setProductImage(imgUrl);
+            product.updateImageVariants(Map.of());
+            return oldUrls;
+        });
+        productDetailCache.invalidate(List.of(productId));
+
+        // 커밋 이후 기존 이미지 삭제 및 새 이미지의 썸네일 생성 요청
+        productThumbnailService.deleteVariants(oldImageUrls);
+        productThumbnailService.enqueue(productId, imageKey, imgUrl);
+        return imgUrl;
+    }
+
+    // 서버 시작 시 upload/ 경로의 만료 규칙을 bucket lifecycle에 등록 (bucket의 다른 규칙은 유지)
+    // 권한이 없으면 경고만 남김 (이 경우 lifecycle 규칙은 인프라에서 직접 등록)
+    @EventListener(ApplicationReadyEvent.class)
+    public void configureUploadExpiration() {
+        LifecycleRule uploadExpiration = LifecycleRule.builder()
+                .id(UPLOAD_EXPIRATION_RULE_ID)
+                .filter(LifecycleRuleFilter.builder().prefix(UPLOAD_PREFIX).build())
+                .status(ExpirationStatus.ENABLED)
+                .expiration(LifecycleExpiration.builder().days(uploadExpirationDays).build())
+                .build();
+        try {
+            List<LifecycleRule> rules = new ArrayList<>();
+            for (LifecycleRule rule : currentLifecycleRules()) {
+                if (!UPLOAD_EXPIRATION_RULE_ID.equals(rule.id())) {
+                    rules.add(rule);
+                }
+            }
+            rules.add(uploadExpiration);
+            s3Client.putBucketLifecycleConfiguration(a -> a.bucket(bucket).lifecycleConfiguration(c -> c.rules(rules)));
+        } catch (S3Exception | SdkClientException e) {
+            log.warn("이미지 업로드 만료 규칙 등록 실패 bucket={}: {}", bucket, e.getMessage());
+        }
+    }
+
+    private List<LifecycleRule> currentLifecycleRules() {
+        try {
+            return s3Client.getBucketLifecycleConfiguration(a -> a.bucket(bucket)).rules();
+        } catch (S3Exception e) {
+            // 등록된 lifecycle 설정이 없음
+            if (e.statusCode() == 404) {
+                return List.of();
+            }
+            throw e;
+        }
+    }
+
+    private boolean isAllowedContentType(String contentType) {
+        return contentType != null && ALLOWED_CONTENT_TYPES.contains(contentType.toLowerCase(Locale.ROOT));
+    }
+
+    private String keyPrefix(Long productId) {
+        return "product-" + productId + "-";
+    }
+
+    private void deleteQuietly(String key) {
+        try {
+            s3Client.deleteObject(a -> a.bucket(bucket).key(key));
+        } catch (S3Exception e) {
+            log.error("S3Exception while deleting object: {}", e.awsErrorDetails().errorMessage());
+            // S3 오류 - 권한 없음, 존재하지 않음 등
+        } catch (SdkClientException e) {
+            // 네트워크 오류, 설정 문제 등
+            log.error("SdkClientException while deleting object: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package beyond.ordersystem.product.service;
+
+import beyond.ordersystem.product.domain.Product;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// 상품 목록 seek 페이징용 cursor (마지막으로 조회한 상품의 정렬 값 + id)
+// client에는 "정렬필드:방향:정렬값:id"를 base64로 감싼 문자열로 전달
+public record ProductScrollCursor(String property, Sort.Direction direction, long sortValue, long id) {
+
+    // 정렬 가능한 필드 (정렬 값이 같으면 id로 순서 결정)
+    public static final String ID = "id";
+    public static final String PRICE = "price";
+
+    // sort 파라미터("id,desc", "price,asc" 등)를 검증해서 첫 페이지용 cursor 생성
+    public static ProductScrollCursor first(String sort) {
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        if (!property.equals(ID) && !property.equals(PRICE)) {
+            throw new IllegalArgumentException("지원하지 않는 정렬입니다.");
+        }
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromOptionalString(parts[1].trim()).orElseThrow(() -> new IllegalArgumentException("지원하지 않는 정렬입니다."))
+                : Sort.Direction.DESC;
+        return new ProductScrollCursor(property, direction, 0, 0);
+    }
+
+    public static ProductScrollCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+            ProductScrollCursor cursor = new ProductScrollCursor(parts[0], Sort.Direction.fromString(parts[1]),
+                    Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+            if (!cursor.property().equals(ID) && !cursor.property().equals(PRICE)) {
+                throw new IllegalArgumentException();
+            }
+            return cursor;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 cursor입니다.");
+        }
+    }
+
+    // 현재 페이지의 마지막 상품으로 다음 페이지 cursor 생성
+    public ProductScrollCursor next(Product last) {
+        long value = property.equals(PRICE) ? last.getPrice() : last.getId();
+        return new ProductScrollCursor(property, direction, value, last.getId());
+    }
+
+    public String encode() {
+        String raw = property + ":" + direction.name() + ":" + sortValue + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Sort toSort() {
+        if (property.equals(ID)) {
+            return Sort.by(direction, ID);
+        }
+        return Sort.by(direction, property).and(Sort.by(direction, ID));
+    }
+}
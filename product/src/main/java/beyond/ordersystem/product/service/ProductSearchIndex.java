@@ -0,0 +1,362 @@
+package beyond.ordersystem.product.service;
+
+import beyond.ordersystem.product.domain.Product;
+import beyond.ordersystem.product.dto.ProductSearchRow;
+import beyond.ordersystem.product.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// 상품명 검색용 메모리 색인 (2-gram 역색인)
+// - LIKE '%검색어%'는 db 인덱스를 사용할 수 없어 전체 테이블을 읽으므로, 검색어의 2글자 조각이 모두 포함된 상품만 후보로 추림
+// - 후보는 실제 상품명에 검색어가 포함되는지 한 번 더 확인 (LIKE와 같은 결과)
+// - 관련도 순 정렬: 상품명 일치 정도 -> 검색어 위치 -> 상품명 길이 -> 최신 상품 순
+// - 서버 시작 시 전체 상품을 스트리밍으로 읽어 생성하고, 상품 등록/수정 시 갱신
+// - 다른 pod의 색인은 redis pub/sub으로 변경된 상품 id를 받아 db에서 다시 읽어 갱신
+@Slf4j
+@Component
+public class ProductSearchIndex implements MessageListener {
+
+    public static final String UPDATE_CHANNEL = "product-search-index";
+    private static final int GRAM_SIZE = 2;
+
+    private final ProductRepository productRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    // 전체 생성은 읽기 db(replica)에서 읽음
+    private final TransactionTemplate transactionTemplate;
+    // 변경된 상품은 primary db에서 읽음 (replica 복제 지연으로 변경 전 값이 색인되지 않도록)
+    private final TransactionTemplate primaryTransactionTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Index index = new Index();
+    // 색인 생성이 끝나기 전에는 db 검색 사용
+    private volatile boolean ready = false;
+    // 색인 생성 중에 변경된 상품 id (생성이 끝난 뒤 다시 반영)
+    private final Set<Long> changedWhileBuilding = new HashSet<>();
+
+    public ProductSearchIndex(ProductRepository productRepository,
+                              @Qualifier("productCache") RedisTemplate<String, String> redisTemplate,
+                              PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.redisTemplate = redisTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.primaryTransactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 서버 시작 시 전체 상품으로 색인 생성
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        Index newIndex = new Index();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ProductSearchRow> rows = productRepository.streamSearchRows()) {
+                rows.forEach(row -> newIndex.put(row.getId(), row.getName(), row.getCategory()));
+            }
+        });
+        newIndex.trimToSize();
+
+        List<Long> changedIds;
+        lock.writeLock().lock();
+        try {
+            index = newIndex;
+            ready = true;
+            changedIds = new ArrayList<>(changedWhileBuilding);
+            changedWhileBuilding.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        reload(changedIds);
+        log.info("상품 검색 색인 생성 완료: {}건, {}ms", newIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    // 상품명에 검색어가 포함된 상품 id 목록 (category가 있으면 일치하는 상품만), id 또는 관련도 순
+    // 검색어가 색인 단위(2글자)보다 짧으면 색인으로 찾을 수 없으므로 null 반환 -> db 검색 사용
+    public List<Long> search(String productName, String category, Order order) {
+        String query = normalize(productName);
+        if (query.length() < GRAM_SIZE) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(query, category, order);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 상품 등록/수정 시 호출 (트랜잭션 안이라면 커밋 이후에 반영)
+    public void update(Product product) {
+        Long id = product.getId();
+        String name = product.getName();
+        String category = product.getCategory();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(id, name, category);
+                }
+            });
+        } else {
+            apply(id, name, category);
+        }
+    }
+
+    private void apply(Long id, String name, String category) {
+        put(id, name, category);
+        // 다른 pod의 색인도 갱신
+        redisTemplate.convertAndSend(UPDATE_CHANNEL, String.valueOf(id));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        List<Long> ids = new ArrayList<>();
+        for (String id : body.split(",")) {
+            if (!id.isBlank()) {
+                ids.add(Long.parseLong(id.trim()));
+            }
+        }
+        reload(ids);
+    }
+
+    // primary db에서 최신 상품 정보를 읽어 색인에 반영
+    // (트랜잭션 없이 조회하면 repository의 readOnly 트랜잭션으로 읽기 db를 사용하게 됨)
+    private void reload(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Product> products = primaryTransactionTemplate.execute(status -> productRepository.findAllById(ids));
+        for (Product product : products) {
+            put(product.getId(), product.getName(), product.getCategory());
+        }
+    }
+
+    private void put(Long id, String name, String category) {
+        lock.writeLock().lock();
+        try {
+            if (!ready) {
+                changedWhileBuilding.add(id);
+                return;
+            }
+            index.put(id, name, category);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // db의 LIKE 검색(기본 collation)처럼 대소문자를 구분하지 않음
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    // 검색어 일치 정도 (작을수록 관련도가 높음)
+    // 상품명 전체 일치 -> 상품명이 검색어로 시작 -> 단어가 검색어로 시작 -> 중간에 포함
+    private static int matchType(String name, String query, int position) {
+        if (position == 0) {
+            return name.length() == query.length() ? 0 : 1;
+        }
+        return Character.isWhitespace(name.charAt(position - 1)) ? 2 : 3;
+    }
+
+    // 2글자 조각을 int 하나로 표현 (문자열 key 대신 사용해서 메모리 절약)
+    private static int gram(String value, int index) {
+        return (value.charAt(index) << Character.SIZE) | value.charAt(index + 1);
+    }
+
+    private static Set<Integer> grams(String value) {
+        Set<Integer> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= value.length(); i++) {
+            grams.add(gram(value, i));
+        }
+        return grams;
+    }
+
+    private static class Index {
+        // key: 2글자 조각, value: 해당 조각이 포함된 상품 id (정렬된 long 배열)
+        private final Map<Integer, Postings> postings = new HashMap<>();
+        private final Map<Long, IndexedProduct> products = new HashMap<>();
+
+        int size() {
+            return products.size();
+        }
+
+        void put(Long id, String name, String category) {
+            remove(id);
+            String normalizedName = normalize(name);
+            products.put(id, new IndexedProduct(normalizedName, category));
+            for (int gram : grams(normalizedName)) {
+                postings.computeIfAbsent(gram, k -> new Postings()).add(id);
+            }
+        }
+
+        void remove(Long id) {
+            IndexedProduct old = products.remove(id);
+            if (old == null) {
+                return;
+            }
+            for (int gram : grams(old.name())) {
+                Postings ids = postings.get(gram);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+
+        // 전체 생성 후 배열의 남는 공간 정리
+        void trimToSize() {
+            postings.values().forEach(Postings::trimToSize);
+        }
+
+        List<Long> search(String query, String category, Order order) {
+            // 가장 짧은 posting list를 기준으로 나머지 조각이 모두 포함된 상품만 남김
+            List<Postings> candidates = new ArrayList<>();
+            for (int gram : grams(query)) {
+                Postings ids = postings.get(gram);
+                if (ids == null) {
+                    return new ArrayList<>();
+                }
+                candidates.add(ids);
+            }
+            candidates.sort(Comparator.comparingInt(Postings::size));
+
+            // 기준 posting list가 id 오름차순이므로 결과도 id 오름차순
+            List<Match> matches = new ArrayList<>();
+            Postings shortest = candidates.get(0);
+            for (int i = 0; i < shortest.size(); i++) {
+                long id = shortest.get(i);
+                IndexedProduct product = products.get(id);
+                if (category != null && !category.equals(product.category())) {
+                    continue;
+                }
+                if (!containsAll(candidates, id)) {
+                    continue;
+                }
+                int position = product.name().indexOf(query);
+                if (position >= 0) {
+                    matches.add(new Match(id, matchType(product.name(), query, position), position, product.name().length()));
+                }
+            }
+
+            if (order == Order.ID_DESC) {
+                Collections.reverse(matches);
+            } else if (order == Order.RELEVANCE) {
+                matches.sort(Comparator.comparingInt(Match::type)
+                        .thenComparingInt(Match::position)
+                        .thenComparingInt(Match::nameLength)
+                        .thenComparing(Comparator.comparingLong(Match::id).reversed()));
+            }
+            List<Long> result = new ArrayList<>(matches.size());
+            for (Match match : matches) {
+                result.add(match.id());
+            }
+            return result;
+        }
+
+        private boolean containsAll(List<Postings> candidates, long id) {
+            for (int i = 1; i < candidates.size(); i++) {
+                if (!candidates.get(i).contains(id)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // 정렬된 상품 id 배열 (Set<Long>보다 상품 id당 메모리 사용량이 훨씬 적음)
+    // 상품 id는 대부분 증가하는 순서로 추가되므로 보통 배열 끝에 붙이기만 함
+    private static class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long get(int index) {
+            return ids[index];
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            if (size == 0 || ids[size - 1] < id) {
+                ids[size++] = id;
+                return;
+            }
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        void trimToSize() {
+            if (ids.length != size) {
+                ids = Arrays.copyOf(ids, size);
+            }
+        }
+    }
+
+    // 검색 결과 정렬 기준
+    public enum Order {
+        RELEVANCE, ID_ASC, ID_DESC
+    }
+
+    private record Match(long id, int type, int position, int nameLength) {
+    }
+
+    private record IndexedProduct(String name, String category) {
+    }
+}
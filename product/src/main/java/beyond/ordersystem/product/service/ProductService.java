@@ -6,20 +6,25 @@ import beyond.ordersystem.product.repository.ProductRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.core.exception.SdkClientException;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
-import software.amazon.awssdk.services.s3.model.S3Exception;
 
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -27,54 +32,50 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class ProductService {
 
-    private final ProductRepository productRepository;
-    private final S3Client s3Client;
+    // 상품명 검색 결과를 관련도 순으로 정렬 (sort=relevance)
+    private static final String RELEVANCE_SORT = "relevance";
 
-    @Value("${cloud.aws.s3.bucket}")
-    private String bucket;
+    private final ProductRepository productRepository;
+    private final StockInventoryService stockInventoryService;
+    private final ProductDetailCache productDetailCache;
+    private final ProductSearchIndex productSearchIndex;
 
     // 1,  상품 등록
     public Long createProduct(ProductCreateDto dto, String email) {
         if (productRepository.findByName(dto.getName()).isPresent()) throw new IllegalArgumentException("중복되는 이름입니다.");
 
         Product product = productRepository.save(dto.toEntity(email));
+        stockInventoryService.overwrite(product.getId(), product.getStockQuantity());
+        productSearchIndex.update(product);
 
-        // 이미지 파일 s3에 올리고 url 가져오기
-        MultipartFile productImage = dto.getProductImage();
-        if (!productImage.isEmpty()) {
-            // 이미지명 설정
-            String fileName = "product-" + product.getId() + "-productImage";
-
-            // 저장 객체 구성
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(fileName)
-                    .contentType(productImage.getContentType()) // image/jpeg ...
-                    .build();
-
-            // 이미지를 업로드 (byte 형태로)
-            try {
-                s3Client.putObject(putObjectRequest, RequestBody.fromBytes(productImage.getBytes()));
-            } catch (IOException e) {
-                // checked -> unchecked로 바꿔 전체 rollback 되도록 예외처리
-                throw new IllegalArgumentException("이미지 업로드 실패");
-            }
-            // Image Url 추출
-            String imgUrl = s3Client.utilities()
-                    .getUrl(a -> a.bucket(bucket).key(fileName)) // key 추가
-                    .toExternalForm();// TODO - 예외 처리 필요
-
-            // 이미지 삭제 시
-//            s3Client.deleteObject(a -> a.bucket(bucket).key(fileName));
-
-            product.setProductImage(imgUrl);
-        }
+        // 이미지는 client가 presigned url로 s3에 직접 업로드한 뒤 finalize 요청으로 등록 (ProductImageService)
 
         return product.getId();
     }
 
     // 상품 목록 조회
+    @Transactional(readOnly = true)
     public Page<ProductResDto> getProductList(Pageable pageable, ProductSearchDto dto) {
+        // 상품명 검색은 메모리 색인에서 id를 찾고, 해당 페이지의 상품만 한 번에 조회
+        List<Long> ids = searchIds(pageable, dto);
+        if (ids != null) {
+            int from = (int) Math.min(pageable.getOffset(), ids.size());
+            int to = Math.min(from + pageable.getPageSize(), ids.size());
+            List<Long> pageIds = ids.subList(from, to);
+            Map<Long, Product> productMap = productRepository.findAllById(pageIds).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+            List<ProductResDto> content = pageIds.stream()
+                    .map(productMap::get)
+                    .filter(Objects::nonNull)
+                    .map(a -> ProductResDto.fromEntity(a))
+                    .toList();
+            return new PageImpl<>(content, pageable, ids.size());
+        }
+
+        // 관련도 순은 색인으로만 정렬할 수 있으므로 db 검색에서는 최신순으로 대신함
+        if (pageable.getSort().getOrderFor(RELEVANCE_SORT) != null) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(Sort.Direction.DESC, "id"));
+        }
         Specification specification = ProductSpecification.search(dto);
 
         Page<Product> productPages = productRepository.findAll(specification, pageable);
@@ -82,11 +83,79 @@ public class ProductService {
         return productPages.map(a -> ProductResDto.fromEntity(a));
     }
 
+    // 상품 목록 조회 (seek 페이징: offset, count 쿼리 없이 cursor 이후의 상품만 조회)
+    @Transactional(readOnly = true)
+    public ProductScrollResDto getProductScroll(ProductSearchDto dto, String sort, String cursorToken, int size) {
+        ProductScrollCursor cursor = cursorToken == null ? ProductScrollCursor.first(sort) : ProductScrollCursor.decode(cursorToken);
+        Specification<Product> specification = ProductSpecification.search(dto);
+        if (cursorToken != null) {
+            specification = specification.and(ProductSpecification.after(cursor));
+        }
+
+        // 다음 페이지가 있는지 확인하기 위해 1개 더 조회
+        List<Product> products = productRepository.findBy(specification, query -> query.sortBy(cursor.toSort()).limit(size + 1).all());
+        boolean hasNext = products.size() > size;
+        List<Product> page = hasNext ? products.subList(0, size) : products;
+
+        return ProductScrollResDto.builder()
+                .products(page.stream().map(a -> ProductResDto.fromEntity(a)).toList())
+                .nextCursor(hasNext ? cursor.next(page.get(page.size() - 1)).encode() : null)
+                .build();
+    }
+
+    // 색인으로 검색할 수 없는 경우(검색어 없음, 색인 생성 전, id 이외의 정렬 등)는 null -> db 검색
+    private List<Long> searchIds(Pageable pageable, ProductSearchDto dto) {
+        if (dto.getProductName() == null || pageable.isUnpaged() || !productSearchIndex.isReady()) {
+            return null;
+        }
+        ProductSearchIndex.Order order = ProductSearchIndex.Order.ID_DESC;
+        Sort sort = pageable.getSort();
+        if (sort.isSorted()) {
+            List<Sort.Order> orders = sort.toList();
+            if (orders.size() != 1) {
+                return null;
+            }
+            String property = orders.get(0).getProperty();
+            if (property.equals(RELEVANCE_SORT)) {
+                order = ProductSearchIndex.Order.RELEVANCE;
+            } else if (property.equals("id")) {
+                order = orders.get(0).isAscending() ? ProductSearchIndex.Order.ID_ASC : ProductSearchIndex.Order.ID_DESC;
+            } else {
+                return null;
+            }
+        }
+        return productSearchIndex.search(dto.getProductName(), dto.getCategory(), order);
+    }
+
     // 상품 상세 조회
+    // 로컬 캐시 -> redis 캐시 -> db 순서로 조회하므로 캐시 hit 시에는 db 커넥션을 잡지 않음
+    // (커넥션은 첫 쿼리 실행 시점에 가져옴)
+    // 캐시에 채울 값은 replica 복제 지연으로 변경 전 값이 오래 캐싱되지 않도록 readOnly 없이 primary db에서 읽음
+    // 재고는 주문마다 redis에서 차감되고 db에는 주기적으로만 반영되므로(캐시의 재고는 갱신하지 않음) redis의 현재 재고로 응답
     public ProductResDto getProductDetail(Long id) {
-        Product product = productRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("없는 상품입니다."));
-        ProductResDto productResDto = ProductResDto.fromEntity(product);
-        return productResDto;
+        ProductResDto cached = productDetailCache.get(id, key -> {
+            Product product = productRepository.findById(key).orElseThrow(() -> new EntityNotFoundException("없는 상품입니다."));
+            return ProductResDto.fromEntity(product);
+        });
+        Integer stock = currentStock(id);
+        // 캐시 객체는 여러 요청이 공유하므로 복사해서 재고만 교체
+        return stock == null ? cached : cached.toBuilder().stockQuantity(stock).build();
+    }
+
+    // redis 재고를 읽을 수 없으면(로드 전, redis 장애) 캐시의 재고 사용
+    private Integer currentStock(Long id) {
+        try {
+            return stockInventoryService.currentStock(id);
+        } catch (RuntimeException e) {
+            log.warn("redis 재고 조회 실패 productId={}: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    // 상품 일괄 조회 (주문 시 상품 목록을 한 번에 조회)
+    @Transactional(readOnly = true)
+    public List<ProductResDto> getProductDetails(List<Long> ids) {
+        return productRepository.findAllById(ids).stream().map(a -> ProductResDto.fromEntity(a)).toList();
     }
 
     // 상품 수정
@@ -94,65 +163,56 @@ public class ProductService {
         Product product = productRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("없는 상품입니다."));
         // dto의 정보로 먼저 update
         product.updateProduct(dto.getName(), dto.getCategory(), dto.getPrice(), dto.getStockQuantity());
+        stockInventoryService.overwrite(product.getId(), dto.getStockQuantity());
+        productSearchIndex.update(product);
 
-        // DB에서 파일명 가져오고 기존 사진 삭제 및 재업로드
-        MultipartFile profileImage = dto.getProductImage();
-        if (profileImage != null && !profileImage.isEmpty()) {
-            // 기존 이미지 파일명 가져오기
-            String imageUrl = product.getProductImage();
-            String originalFileName = imageUrl.substring(imageUrl.lastIndexOf("/") + 1);
-
-            // 이미지 삭제 시 // TODO - 예외 처리
-//            s3Client.deleteObject(a -> a.bucket(bucket).key(originalFileName));
-
-            try {
-                s3Client.deleteObject(a -> a.bucket(bucket).key(originalFileName));
-            } catch (S3Exception e) {
-                log.error("S3Exception while deleting object: {}", e.awsErrorDetails().errorMessage());
-                // S3 오류 - 권한 없음, 존재하지 않음 등
-            } catch (SdkClientException e) {
-                // 네트워크 오류, 설정 문제 등
-                log.error("SdkClientException while deleting object: {}", e.getMessage());
-            }
-
-            // 이미지명 설정
-            String newFileName = "product-" + id + "-productImage";
-
-            // 저장 객체 구성
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(newFileName)
-                    .contentType(profileImage.getContentType())
-                    .build();
-
-            try {
-                s3Client.putObject(putObjectRequest, RequestBody.fromBytes(profileImage.getBytes()));
-            } catch (IOException e) {
-                throw new IllegalArgumentException("이미지 업로드 실패");
-            }
-            // image url 추출
-            String imgUrl = s3Client.utilities()
-                    .getUrl(a -> a.bucket(bucket).key(newFileName)) // <- key 추가
-                    .toExternalForm(); // TODO - 예외 처리 필요
-
-            product.setProductImage(imgUrl);
-        } else {
-            // 사용자가 이미지 없이 올렸을 때 삭제 로직(이미지 삭제만 하는 코드 넣어야 할 둣)
-            product.setProductImage(null);
-        }
+        // 이미지 변경은 presigned url 업로드 후 finalize 요청으로 처리 (ProductImageService)
+        productDetailCache.invalidate(List.of(product.getId()));
 
         return product.getId();
     }
 
     // 상품 수량 감소
+    // redis 재고 엔진에서 원자적으로 차감하므로 db 커넥션/row lock을 잡지 않음
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Long updateStock(ProductUpdateStockDto dto) {
-        Product product = productRepository.findById(dto.getProductId()).orElseThrow(() -> new EntityNotFoundException("없는 상품입니다."));
+        stockInventoryService.decrease(dto.getProductId(), dto.getProductCount());
+
+        return dto.getProductId();
+    }
 
-        if (product.getStockQuantity() < dto.getProductCount()) {
-            throw new IllegalArgumentException("재고 부족");
+    // 상품 수량 일괄 감소 (kafka batch listener)
+    // 같은 상품의 수량을 합산해서 상품당 한 번만 차감
+    // outbox 재발행이나 kafka 재처리로 같은 이벤트가 다시 들어와도 이벤트 id 기준으로 한 번만 차감
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void updateStocks(List<ProductUpdateStockDto> dtos) {
+        Map<Long, List<ProductUpdateStockDto>> eventsByProduct = new LinkedHashMap<>();
+        Set<Long> eventIds = new HashSet<>();
+        for (ProductUpdateStockDto dto : dtos) {
+            // 같은 배치 안에 중복으로 들어온 이벤트 제외
+            if (dto.getEventId() != null && !eventIds.add(dto.getEventId())) {
+                continue;
+            }
+            eventsByProduct.computeIfAbsent(dto.getProductId(), k -> new ArrayList<>()).add(dto);
         }
-        product.decreaseQuantity(dto.getProductCount());
 
-        return product.getId();
+        for (Map.Entry<Long, List<ProductUpdateStockDto>> entry : eventsByProduct.entrySet()) {
+            Long productId = entry.getKey();
+            List<ProductUpdateStockDto> events = entry.getValue();
+            try {
+                stockInventoryService.decrease(productId, events);
+            } catch (IllegalArgumentException e) {
+                // 합산 수량만큼 재고가 없으면, 주문 건별로 차감해서 가능한 주문까지는 반영
+                for (ProductUpdateStockDto event : events) {
+                    try {
+                        stockInventoryService.decrease(productId, List.of(event));
+                    } catch (IllegalArgumentException ex) {
+                        log.error("재고 부족 productId={}, count={}", productId, event.getProductCount());
+                    }
+                }
+            } catch (EntityNotFoundException e) {
+                log.error("없는 상품입니다. productId={}", productId);
+            }
+        }
     }
 }
@@ -3,6 +3,7 @@ package beyond.ordersystem.product.service;
 import beyond.ordersystem.product.domain.Product;
 import beyond.ordersystem.product.dto.ProductSearchDto;
 import org.springframework.data.jpa.domain.Specification;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 
 import java.util.ArrayList;
@@ -32,4 +33,22 @@ public class ProductSpecification {
             return predicate;
         };
     }
+
+    // seek 페이징: cursor(마지막으로 조회한 상품) 이후의 상품만 조회 (offset 없이 인덱스로 바로 탐색)
+    public static Specification<Product> after(ProductScrollCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            boolean desc = cursor.direction().isDescending();
+            Path<Long> id = root.get("id");
+            Predicate idAfter = desc ? criteriaBuilder.lessThan(id, cursor.id()) : criteriaBuilder.greaterThan(id, cursor.id());
+            if (cursor.property().equals(ProductScrollCursor.ID)) {
+                return idAfter;
+            }
+
+            // 정렬 값이 다르면 정렬 값으로, 같으면 id로 비교 -> (price < ?) or (price = ? and id < ?)
+            Path<Integer> sortValue = root.get(cursor.property());
+            Integer value = (int) cursor.sortValue();
+            Predicate valueAfter = desc ? criteriaBuilder.lessThan(sortValue, value) : criteriaBuilder.greaterThan(sortValue, value);
+            return criteriaBuilder.or(valueAfter, criteriaBuilder.and(criteriaBuilder.equal(sortValue, value), idAfter));
+        };
+    }
 }
@@ -0,0 +1,205 @@
+package beyond.ordersystem.product.service;
+
+import beyond.ordersystem.product.domain.Product;
+import beyond.ordersystem.product.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 상품 이미지 썸네일 생성 (업로드 완료 후 백그라운드 처리)
+// - 크기가 제한된 worker pool/queue에서 원본을 여러 크기로 줄여 jpeg로 다시 압축
+// - 썸네일은 원본 옆에 "{원본 key}-w{가로}.jpg"로 저장하고 상품에 url 기록
+// - queue가 가득 차면 썸네일 없이 원본만 사용 (요청 처리에는 영향 없음)
+@Slf4j
+@Service
+public class ProductThumbnailService {
+
+    private final S3Client s3Client;
+    private final ProductRepository productRepository;
+    private final ProductDetailCache productDetailCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+
+    @Value("${cloud.aws.s3.bucket}")
+    private String bucket;
+
+    // 생성할 썸네일 가로 크기 (원본보다 작은 크기만 생성)
+    @Value("${product.thumbnail.widths:200,400,800}")
+    private List<Integer> widths;
+
+    // jpeg 압축 품질 (0 ~ 1)
+    @Value("${product.thumbnail.quality:0.8}")
+    private float quality;
+
+    // 디코딩할 최대 픽셀 수 (너무 큰 이미지로 heap이 부족해지지 않도록 제한)
+    @Value("${product.thumbnail.max-pixels:40000000}")
+    private long maxPixels;
+
+    public ProductThumbnailService(S3Client s3Client, ProductRepository productRepository, ProductDetailCache productDetailCache,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${product.thumbnail.workers:2}") int workers,
+                                   @Value("${product.thumbnail.queue-capacity:100}") int queueCapacity) {
+        this.s3Client = s3Client;
+        this.productRepository = productRepository;
+        this.productDetailCache = productDetailCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "product-thumbnail-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // 원본 이미지 업로드 완료 후 썸네일 생성 요청
+    public void enqueue(Long productId, String key, String imageUrl) {
+        try {
+            executor.execute(() -> process(productId, key, imageUrl));
+        } catch (RejectedExecutionException e) {
+            log.warn("썸네일 작업 queue가 가득 차서 건너뜁니다. productId={}", productId);
+        }
+    }
+
+    // 원본 이미지가 교체될 때 이전 썸네일 삭제
+    public void deleteVariants(Collection<String> variantUrls) {
+        for (String url : variantUrls) {
+            String key = url.substring(url.lastIndexOf("/") + 1);
+            try {
+                s3Client.deleteObject(a -> a.bucket(bucket).key(key));
+            } catch (RuntimeException e) {
+                log.error("썸네일 삭제 실패 key={}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    private void process(Long productId, String key, String imageUrl) {
+        try {
+            ResponseBytes<GetObjectResponse> original = s3Client.getObjectAsBytes(a -> a.bucket(bucket).key(key));
+            BufferedImage image = decode(original.asByteArray());
+            if (image == null) {
+                log.warn("이미지를 읽을 수 없어 썸네일을 만들지 않습니다. productId={}", productId);
+                return;
+            }
+
+            Map<Integer, String> variants = new TreeMap<>();
+            for (int width : widths) {
+                if (width >= image.getWidth()) {
+                    continue;
+                }
+                String variantKey = key + "-w" + width + ".jpg";
+                s3Client.putObject(a -> a.bucket(bucket).key(variantKey).contentType("image/jpeg"),
+                        RequestBody.fromBytes(encodeJpeg(resize(image, width))));
+                variants.put(width, s3Client.utilities().getUrl(a -> a.bucket(bucket).key(variantKey)).toExternalForm());
+            }
+
+            Boolean applied = transactionTemplate.execute(status -> {
+                Product product = productRepository.findById(productId).orElse(null);
+                // 처리 중에 이미지가 다시 교체되었으면 반영하지 않음
+                if (product == null || !imageUrl.equals(product.getProductImage())) {
+                    return false;
+                }
+                product.updateImageVariants(variants);
+                return true;
+            });
+            if (Boolean.TRUE.equals(applied)) {
+                productDetailCache.invalidate(List.of(productId));
+            } else {
+                deleteVariants(variants.values());
+            }
+        } catch (Exception e) {
+            log.error("썸네일 생성 실패 productId={}: {}", productId, e.getMessage());
+        }
+    }
+
+    // 크기를 먼저 확인하고 디코딩
+    private BufferedImage decode(byte[] bytes) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    throw new IllegalArgumentException("이미지 해상도가 너무 큽니다.");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 비율을 유지하며 가로 크기에 맞춰 축소 (투명 배경은 흰색으로 채움)
+    private BufferedImage resize(BufferedImage image, int width) {
+        int height = Math.max(1, Math.round((float) image.getHeight() * width / image.getWidth()));
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(imageOutput);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
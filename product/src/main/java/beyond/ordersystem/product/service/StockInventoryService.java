@@ -0,0 +1,197 @@
+package beyond.ordersystem.product.service;
+
+import beyond.ordersystem.product.domain.Product;
+import beyond.ordersystem.product.dto.ProductUpdateStockDto;
+import beyond.ordersystem.product.repository.ProductRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// redis를 재고의 원본으로 사용하는 재고 엔진
+// 재고 차감은 lua script로 원자적으로 처리하고, db(product.stock_quantity)에는 비동기로 반영
+@Slf4j
+@Service
+public class StockInventoryService {
+
+    private static final String STOCK_KEY_PREFIX = "stock:";
+    // db 반영이 필요한 상품 id 목록
+    private static final String DIRTY_KEY = "stock:dirty";
+    // 이미 차감에 반영된 재고 이벤트 id (kafka 재전송/재처리 시 중복 차감 방지)
+    private static final String PROCESSED_EVENT_KEY_PREFIX = "stock:event:";
+
+    private static final long NOT_LOADED = -2L;
+    private static final long OUT_OF_STOCK = -1L;
+
+    // KEYS[1]: 재고 키, KEYS[2]: dirty set, KEYS[3..]: 이벤트별 처리 완료 표시 키
+    // ARGV[1]: 상품 id, ARGV[2]: 처리 완료 표시 유효기간(초), ARGV[3]: 이벤트 id가 없는 차감 수량, ARGV[4..]: 이벤트별 차감 수량 (KEYS[3..]와 같은 순서)
+    // 이미 처리된 이벤트는 건너뛰고 나머지 합계만큼 차감한 뒤 처리 완료 표시
+    // 재고 키가 없으면 -2, 재고가 부족하면 -1(아무 이벤트도 처리 표시하지 않음), 성공 시 남은 재고 반환
+    private static final RedisScript<Long> DECREASE_SCRIPT = new DefaultRedisScript<>(
+            "local stock = redis.call('GET', KEYS[1]) " +
+            "if not stock then return -2 end " +
+            "local total = tonumber(ARGV[3]) " +
+            "local fresh = {} " +
+            "for i = 3, #KEYS do " +
+            "  if redis.call('EXISTS', KEYS[i]) == 0 then " +
+            "    table.insert(fresh, KEYS[i]) " +
+            "    total = total + tonumber(ARGV[i + 1]) " +
+            "  end " +
+            "end " +
+            "if total == 0 then return tonumber(stock) end " +
+            "if tonumber(stock) < total then return -1 end " +
+            "local remain = redis.call('DECRBY', KEYS[1], total) " +
+            "for _, key in ipairs(fresh) do redis.call('SET', key, '1', 'EX', ARGV[2]) end " +
+            "redis.call('SADD', KEYS[2], ARGV[1]) " +
+            "return remain",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${product.stock.write-back-batch-size:500}")
+    private int writeBackBatchSize;
+
+    // 처리한 재고 이벤트 id 보관 기간 (outbox 재발행/kafka 재처리가 일어날 수 있는 기간보다 길게)
+    @Value("${product.stock.processed-event-ttl-seconds:86400}")
+    private long processedEventTtlSeconds;
+
+    public StockInventoryService(@Qualifier("stockInventory") RedisTemplate<String, String> redisTemplate, ProductRepository productRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.redisTemplate = redisTemplate;
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // 재고 차감 후 남은 재고 반환
+    public long decrease(Long productId, int quantity) {
+        return decrease(productId, List.of(ProductUpdateStockDto.builder().productId(productId).productCount(quantity).build()));
+    }
+
+    // 한 상품의 재고 이벤트 여러 건을 합산해서 한 번에 차감 (이미 처리된 이벤트 id는 제외)
+    // 재고가 부족하면 어떤 이벤트도 반영하지 않고 예외
+    public long decrease(Long productId, List<ProductUpdateStockDto> events) {
+        List<String> keys = new ArrayList<>();
+        keys.add(stockKey(productId));
+        keys.add(DIRTY_KEY);
+        List<String> eventCounts = new ArrayList<>();
+        long untrackedCount = 0;
+        for (ProductUpdateStockDto event : events) {
+            if (event.getEventId() == null) {
+                untrackedCount += event.getProductCount();
+            } else {
+                keys.add(PROCESSED_EVENT_KEY_PREFIX + event.getEventId());
+                eventCounts.add(String.valueOf(event.getProductCount()));
+            }
+        }
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(productId));
+        args.add(String.valueOf(processedEventTtlSeconds));
+        args.add(String.valueOf(untrackedCount));
+        args.addAll(eventCounts);
+
+        long remain = executeDecrease(keys, args);
+        if (remain == NOT_LOADED) {
+            load(productId);
+            remain = executeDecrease(keys, args);
+        }
+        if (remain == OUT_OF_STOCK) {
+            throw new IllegalArgumentException("재고 부족");
+        }
+        return remain;
+    }
+
+    // redis의 현재 재고 (아직 로드되지 않은 상품은 null)
+    public Integer currentStock(Long productId) {
+        String stock = redisTemplate.opsForValue().get(stockKey(productId));
+        return stock == null ? null : Integer.valueOf(stock);
+    }
+
+    // 상품 등록/수정 시 재고를 덮어씀 (트랜잭션 안이라면 커밋 이후에 반영)
+    public void overwrite(Long productId, int stockQuantity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    setStock(productId, stockQuantity);
+                }
+            });
+        } else {
+            setStock(productId, stockQuantity);
+        }
+    }
+
+    private void setStock(Long productId, int stockQuantity) {
+        redisTemplate.opsForValue().set(stockKey(productId), String.valueOf(stockQuantity));
+        // 진행 중이던 db 반영이 이전 값을 덮어쓰더라도 다음 주기에 다시 맞춰지도록 dirty 표시
+        redisTemplate.opsForSet().add(DIRTY_KEY, String.valueOf(productId));
+    }
+
+    // 변경된 재고를 주기적으로 db에 반영
+    @Scheduled(fixedDelayString = "${product.stock.write-back-interval-ms:500}")
+    public void writeBack() {
+        List<String> productIds = redisTemplate.opsForSet().pop(DIRTY_KEY, writeBackBatchSize);
+        if (productIds == null || productIds.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (String productId : productIds) {
+                    String stock = redisTemplate.opsForValue().get(STOCK_KEY_PREFIX + productId);
+                    if (stock != null) {
+                        productRepository.updateStockQuantity(Long.parseLong(productId), Integer.parseInt(stock));
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // 반영 실패 시 다음 주기에 다시 반영되도록 dirty set에 되돌려 놓음
+            redisTemplate.opsForSet().add(DIRTY_KEY, productIds.toArray(new String[0]));
+            log.error("재고 db 반영 실패: {}", e.getMessage());
+        }
+    }
+
+    // 서버 시작 시 이전에 반영되지 못한 재고를 모두 db에 반영
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        Long dirtyCount = redisTemplate.opsForSet().size(DIRTY_KEY);
+        while (dirtyCount != null && dirtyCount > 0) {
+            writeBack();
+            Long remain = redisTemplate.opsForSet().size(DIRTY_KEY);
+            if (remain != null && remain >= dirtyCount) {
+                break;
+            }
+            dirtyCount = remain;
+        }
+        log.info("재고 reconcile 완료");
+    }
+
+    private long executeDecrease(List<String> keys, List<String> args) {
+        Long result = redisTemplate.execute(DECREASE_SCRIPT, keys, args.toArray());
+        return result == null ? NOT_LOADED : result;
+    }
+
+    // redis에 재고가 없으면 db 값으로 초기화 (이미 있으면 덮어쓰지 않음)
+    private void load(Long productId) {
+        Product product = productRepository.findById(productId).orElseThrow(() -> new EntityNotFoundException("없는 상품입니다."));
+        redisTemplate.opsForValue().setIfAbsent(stockKey(productId), String.valueOf(product.getStockQuantity()));
+    }
+
+    private String stockKey(Long productId) {
+        return STOCK_KEY_PREFIX + productId;
+    }
+}
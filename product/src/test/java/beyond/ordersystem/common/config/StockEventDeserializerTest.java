@@ -0,0 +1,86 @@
+package beyond.ordersystem.common.config;
+
+import beyond.ordersystem.product.dto.ProductUpdateStockDto;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockEventDeserializerTest {
+
+    private static final String TOPIC = "stock-update-topic";
+
+    private final StockEventDeserializer deserializer = new StockEventDeserializer();
+
+    // ordering-service의 StockEventSerializer와 같은 version 1 layout (big-endian, 29 bytes)
+    private byte[] version1(long eventId, long orderingId, long productId, int productCount) {
+        return ByteBuffer.allocate(29)
+                .put((byte) 1)
+                .putLong(eventId)
+                .putLong(orderingId)
+                .putLong(productId)
+                .putInt(productCount)
+                .array();
+    }
+
+    @Test
+    void readsVersion1() {
+        ProductUpdateStockDto dto = deserializer.deserialize(TOPIC, version1(11L, 22L, 33L, 4));
+
+        assertThat(dto.getEventId()).isEqualTo(11L);
+        assertThat(dto.getOrderingId()).isEqualTo(22L);
+        assertThat(dto.getProductId()).isEqualTo(33L);
+        assertThat(dto.getProductCount()).isEqualTo(4);
+    }
+
+    @Test
+    void readsZeroIdsAsMissing() {
+        ProductUpdateStockDto dto = deserializer.deserialize(TOPIC, version1(0L, 0L, 33L, 1));
+
+        assertThat(dto.getEventId()).isNull();
+        assertThat(dto.getOrderingId()).isNull();
+        assertThat(dto.getProductId()).isEqualTo(33L);
+    }
+
+    @Test
+    void fallsBackToJson() {
+        byte[] json = "{\"productId\":33,\"productCount\":2,\"eventId\":11,\"orderingId\":22}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        ProductUpdateStockDto dto = deserializer.deserialize(TOPIC, json);
+
+        assertThat(dto.getEventId()).isEqualTo(11L);
+        assertThat(dto.getOrderingId()).isEqualTo(22L);
+        assertThat(dto.getProductId()).isEqualTo(33L);
+        assertThat(dto.getProductCount()).isEqualTo(2);
+    }
+
+    @Test
+    void skipsMalformedJson() {
+        assertThat(deserializer.deserialize(TOPIC, "{\"productId\":".getBytes(StandardCharsets.UTF_8))).isNull();
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] data = version1(11L, 22L, 33L, 4);
+        data[0] = 2;
+
+        assertThat(deserializer.deserialize(TOPIC, data)).isNull();
+    }
+
+    @Test
+    void rejectsTruncatedRecord() {
+        byte[] data = Arrays.copyOf(version1(11L, 22L, 33L, 4), 28);
+
+        assertThat(deserializer.deserialize(TOPIC, data)).isNull();
+    }
+
+    @Test
+    void emptyRecordIsSkipped() {
+        assertThat(deserializer.deserialize(TOPIC, null)).isNull();
+        assertThat(deserializer.deserialize(TOPIC, new byte[0])).isNull();
+    }
+}
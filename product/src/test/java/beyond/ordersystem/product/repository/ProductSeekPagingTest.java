@@ -0,0 +1,83 @@
+package beyond.ordersystem.product.repository;
+
+import beyond.ordersystem.product.domain.Product;
+import beyond.ordersystem.product.dto.ProductSearchDto;
+import beyond.ordersystem.product.service.ProductScrollCursor;
+import beyond.ordersystem.product.service.ProductSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 정렬 값이 같은 상품이 페이지 경계에 걸쳐 있어도 (정렬 값, id) 순서로 빠짐/중복 없이 이어지는지 확인
+@DataJpaTest
+class ProductSeekPagingTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private List<Product> saved;
+
+    @BeforeEach
+    void setUp() {
+        int[] prices = {1000, 3000, 1000, 2000, 3000, 1000, 2000};
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < prices.length; i++) {
+            products.add(Product.builder().name("상품" + i).category("식품").price(prices[i]).stockQuantity(1).build());
+        }
+        saved = productRepository.saveAll(products);
+    }
+
+    // ProductService.getProductScroll과 같은 방식으로 마지막 페이지까지 조회
+    private List<Long> scrollAll(String sort) {
+        List<Long> ids = new ArrayList<>();
+        ProductScrollCursor cursor = ProductScrollCursor.first(sort);
+        String token = null;
+        while (true) {
+            Specification<Product> specification = ProductSpecification.search(new ProductSearchDto());
+            if (token != null) {
+                cursor = ProductScrollCursor.decode(token);
+                specification = specification.and(ProductSpecification.after(cursor));
+            }
+            ProductScrollCursor current = cursor;
+            List<Product> page = productRepository.findBy(specification,
+                    query -> query.sortBy(current.toSort()).limit(PAGE_SIZE).all());
+            page.forEach(product -> ids.add(product.getId()));
+            if (page.size() < PAGE_SIZE) {
+                return ids;
+            }
+            token = current.next(page.get(page.size() - 1)).encode();
+        }
+    }
+
+    private List<Long> expected(Comparator<Product> order) {
+        return saved.stream().sorted(order).map(Product::getId).toList();
+    }
+
+    @Test
+    void priceAscendingBreaksTiesByIdAscending() {
+        assertThat(scrollAll("price,asc"))
+                .containsExactlyElementsOf(expected(Comparator.comparingInt(Product::getPrice).thenComparing(Product::getId)));
+    }
+
+    @Test
+    void priceDescendingBreaksTiesByIdDescending() {
+        assertThat(scrollAll("price,desc"))
+                .containsExactlyElementsOf(expected(Comparator.comparingInt(Product::getPrice).thenComparing(Product::getId).reversed()));
+    }
+
+    @Test
+    void idDescendingVisitsEveryProductOnce() {
+        assertThat(scrollAll("id,desc"))
+                .containsExactlyElementsOf(expected(Comparator.comparing(Product::getId).reversed()));
+    }
+}
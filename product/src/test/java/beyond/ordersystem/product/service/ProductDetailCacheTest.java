@@ -0,0 +1,66 @@
+package beyond.ordersystem.product.service;
+
+import beyond.ordersystem.product.dto.ProductResDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductDetailCacheTest {
+
+    private ValueOperations<String, String> valueOperations;
+    private ProductDetailCache productDetailCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        productDetailCache = new ProductDetailCache(redisTemplate, new ObjectMapper(), new SimpleMeterRegistry(), 100, 60, 600);
+    }
+
+    @Test
+    void loadsFromDbWhenRedisIsDown() {
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("connection refused"));
+        doThrow(new RedisConnectionFailureException("connection refused"))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        AtomicInteger loads = new AtomicInteger();
+
+        ProductResDto productResDto = productDetailCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return ProductResDto.builder().id(id).name("상품").build();
+        });
+
+        assertThat(productResDto.getId()).isEqualTo(1L);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void servesRedisValueWithoutLoadingDb() throws Exception {
+        ProductResDto stored = ProductResDto.builder().id(1L).name("상품").build();
+        when(valueOperations.get("product:detail:1")).thenReturn(new ObjectMapper().writeValueAsString(stored));
+        AtomicInteger loads = new AtomicInteger();
+
+        ProductResDto productResDto = productDetailCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        assertThat(productResDto.getName()).isEqualTo("상품");
+        assertThat(loads).hasValue(0);
+    }
+}
@@ -0,0 +1,202 @@
+package beyond.ordersystem.product.service;
+
+import beyond.ordersystem.product.domain.Product;
+import beyond.ordersystem.product.dto.ProductImageUploadResDto;
+import beyond.ordersystem.product.repository.ProductRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.LifecycleRule;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// presigned url 발급 -> 업로드 -> finalize 흐름을 s3 호환 저장소(minio)로 확인
+@Testcontainers
+class ProductImageServiceIntegrationTest {
+
+    private static final String BUCKET = "product-images";
+    private static final long MAX_IMAGE_BYTES = 1024;
+    private static final Long PRODUCT_ID = 1L;
+
+    @Container
+    private static final MinIOContainer MINIO = new MinIOContainer("minio/minio:RELEASE.2024-01-16T16-07-38Z");
+
+    private static S3Client s3Client;
+    private static S3Presigner s3Presigner;
+
+    private ProductRepository productRepository;
+    private ProductDetailCache productDetailCache;
+    private ProductThumbnailService productThumbnailService;
+    private ProductImageService productImageService;
+    private Product product;
+
+    @BeforeAll
+    static void setUpStorage() {
+        StaticCredentialsProvider credentials = StaticCredentialsProvider.create(
+                AwsBasicCredentials.create(MINIO.getUserName(), MINIO.getPassword()));
+        S3Configuration pathStyle = S3Configuration.builder().pathStyleAccessEnabled(true).build();
+        s3Client = S3Client.builder()
+                .region(Region.AP_NORTHEAST_2)
+                .credentialsProvider(credentials)
+                .endpointOverride(URI.create(MINIO.getS3URL()))
+                .serviceConfiguration(pathStyle)
+                .build();
+        s3Presigner = S3Presigner.builder()
+                .region(Region.AP_NORTHEAST_2)
+                .credentialsProvider(credentials)
+                .endpointOverride(URI.create(MINIO.getS3URL()))
+                .serviceConfiguration(pathStyle)
+                .build();
+        s3Client.createBucket(a -> a.bucket(BUCKET));
+    }
+
+    @AfterAll
+    static void tearDownStorage() {
+        s3Presigner.close();
+        s3Client.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        productDetailCache = mock(ProductDetailCache.class);
+        productThumbnailService = mock(ProductThumbnailService.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        product = Product.builder().id(PRODUCT_ID).name("상품").category("식품").price(1000).stockQuantity(10).build();
+        when(productRepository.existsById(PRODUCT_ID)).thenReturn(true);
+        when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(product));
+
+        productImageService = new ProductImageService(s3Client, s3Presigner, productRepository,
+                productDetailCache, productThumbnailService, transactionManager);
+        ReflectionTestUtils.setField(productImageService, "bucket", BUCKET);
+        ReflectionTestUtils.setField(productImageService, "uploadUrlTtlSeconds", 300L);
+        ReflectionTestUtils.setField(productImageService, "maxImageBytes", MAX_IMAGE_BYTES);
+        ReflectionTestUtils.setField(productImageService, "uploadExpirationDays", 1);
+    }
+
+    @Test
+    void finalizeRegistersUploadedImage() throws Exception {
+        ProductImageUploadResDto upload = productImageService.createUploadUrl(PRODUCT_ID, "image/png");
+
+        // client가 presigned url로 직접 업로드
+        HttpResponse<Void> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder(URI.create(upload.getUploadUrl()))
+                .header("Content-Type", "image/png")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(new byte[512]))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        String imgUrl = productImageService.finalizeUpload(PRODUCT_ID, upload.getKey());
+
+        // 임시 경로(upload/)의 업로드는 최종 key로 옮겨짐
+        assertThat(upload.getKey()).startsWith("upload/product-" + PRODUCT_ID + "-");
+        String imageKey = upload.getKey().substring("upload/".length());
+        assertThat(imgUrl).endsWith("/" + BUCKET + "/" + imageKey);
+        assertThat(s3Client.headObject(a -> a.bucket(BUCKET).key(imageKey)).contentType()).isEqualTo("image/png");
+        assertThatThrownBy(() -> s3Client.headObject(a -> a.bucket(BUCKET).key(upload.getKey())))
+                .isInstanceOf(NoSuchKeyException.class);
+        assertThat(product.getProductImage()).isEqualTo(imgUrl);
+        verify(productDetailCache).invalidate(List.of(PRODUCT_ID));
+        verify(productThumbnailService).enqueue(PRODUCT_ID, imageKey, imgUrl);
+    }
+
+    @Test
+    void rejectsSvgAndOtherNonRasterTypes() {
+        for (String contentType : List.of("image/svg+xml", "text/html", "image/x-icon")) {
+            assertThatThrownBy(() -> productImageService.createUploadUrl(PRODUCT_ID, contentType))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void rejectsAndDeletesUploadWithDisallowedContentType() {
+        String key = "upload/product-" + PRODUCT_ID + "-svg";
+        s3Client.putObject(a -> a.bucket(BUCKET).key(key).contentType("image/svg+xml"), RequestBody.fromBytes(new byte[16]));
+
+        assertThatThrownBy(() -> productImageService.finalizeUpload(PRODUCT_ID, key))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> s3Client.headObject(a -> a.bucket(BUCKET).key(key)))
+                .isInstanceOf(NoSuchKeyException.class);
+        assertThat(product.getProductImage()).isNull();
+    }
+
+    @Test
+    void registersExpirationRuleForUnfinalizedUploads() {
+        productImageService.configureUploadExpiration();
+        // 다시 등록해도 규칙이 중복되지 않음
+        productImageService.configureUploadExpiration();
+
+        List<LifecycleRule> rules = s3Client.getBucketLifecycleConfiguration(a -> a.bucket(BUCKET)).rules();
+        assertThat(rules).hasSize(1);
+        assertThat(rules.get(0).filter().prefix()).isEqualTo("upload/");
+        assertThat(rules.get(0).expiration().days()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsKeyOfAnotherProduct() {
+        // product-1- 로 시작하지 않는 key (product-10- 도 다른 상품)
+        s3Client.putObject(a -> a.bucket(BUCKET).key("upload/product-10-other"), RequestBody.fromBytes(new byte[16]));
+
+        assertThatThrownBy(() -> productImageService.finalizeUpload(PRODUCT_ID, "upload/product-10-other"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("잘못된 이미지 key입니다.");
+        assertThat(product.getProductImage()).isNull();
+        verify(productThumbnailService, never()).enqueue(any(), anyString(), anyString());
+    }
+
+    @Test
+    void rejectsAndDeletesOversizeImage() {
+        String key = "upload/product-" + PRODUCT_ID + "-oversize";
+        s3Client.putObject(a -> a.bucket(BUCKET).key(key).contentType("image/png"),
+                RequestBody.fromBytes(new byte[(int) MAX_IMAGE_BYTES + 1]));
+
+        assertThatThrownBy(() -> productImageService.finalizeUpload(PRODUCT_ID, key))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("이미지 크기가 너무 큽니다.");
+        // 허용 크기를 넘은 업로드는 저장소에서 삭제
+        assertThatThrownBy(() -> s3Client.headObject(a -> a.bucket(BUCKET).key(key)))
+                .isInstanceOf(NoSuchKeyException.class);
+        assertThat(product.getProductImage()).isNull();
+        verify(productDetailCache, never()).invalidate(anyList());
+    }
+
+    @Test
+    void rejectsMissingObject() {
+        assertThatThrownBy(() -> productImageService.finalizeUpload(PRODUCT_ID, "upload/product-" + PRODUCT_ID + "-missing"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("업로드된 이미지가 없습니다.");
+        assertThat(product.getProductImage()).isNull();
+        verify(productThumbnailService, never()).enqueue(any(), anyString(), anyString());
+    }
+}
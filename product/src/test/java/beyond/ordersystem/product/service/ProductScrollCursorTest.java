@@ -0,0 +1,63 @@
+package beyond.ordersystem.product.service;
+
+import beyond.ordersystem.product.domain.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductScrollCursorTest {
+
+    @Test
+    void encodeAndDecodeRoundTrip() {
+        ProductScrollCursor cursor = new ProductScrollCursor(ProductScrollCursor.PRICE, Sort.Direction.ASC, 15000, 42);
+
+        String token = cursor.encode();
+
+        // url에 그대로 넣을 수 있는 형식 (padding 없음)
+        assertThat(token).doesNotContain("+", "/", "=");
+        assertThat(ProductScrollCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void firstPageCursorDefaultsToDescending() {
+        assertThat(ProductScrollCursor.first("id")).isEqualTo(new ProductScrollCursor("id", Sort.Direction.DESC, 0, 0));
+        assertThat(ProductScrollCursor.first("price,asc").direction()).isEqualTo(Sort.Direction.ASC);
+    }
+
+    @Test
+    void rejectsUnsupportedSort() {
+        assertThatThrownBy(() -> ProductScrollCursor.first("name,asc")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProductScrollCursor.first("price,sideways")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsMalformedOrTamperedToken() {
+        String unsupportedProperty = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("name:ASC:1:1".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> ProductScrollCursor.decode("not-a-cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProductScrollCursor.decode(unsupportedProperty)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void nextCursorKeepsSortValueAndIdOfLastProduct() {
+        Product last = Product.builder().id(7L).name("상품").category("식품").price(3000).stockQuantity(1).build();
+
+        assertThat(ProductScrollCursor.first("price,desc").next(last))
+                .isEqualTo(new ProductScrollCursor("price", Sort.Direction.DESC, 3000, 7));
+        assertThat(ProductScrollCursor.first("id,asc").next(last))
+                .isEqualTo(new ProductScrollCursor("id", Sort.Direction.ASC, 7, 7));
+    }
+
+    @Test
+    void sortBreaksTiesById() {
+        assertThat(ProductScrollCursor.first("price,asc").toSort())
+                .isEqualTo(Sort.by(Sort.Direction.ASC, "price").and(Sort.by(Sort.Direction.ASC, "id")));
+        assertThat(ProductScrollCursor.first("id,desc").toSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "id"));
+    }
+}
@@ -0,0 +1,96 @@
+package beyond.ordersystem.product.service;
+
+import beyond.ordersystem.product.domain.Product;
+import beyond.ordersystem.product.dto.ProductSearchRow;
+import beyond.ordersystem.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductSearchIndexTest {
+
+    private ProductRepository productRepository;
+    private PlatformTransactionManager transactionManager;
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(productRepository.streamSearchRows()).thenReturn(Stream.of(
+                new ProductSearchRow(1L, "유기농 사과 주스", "음료"),
+                new ProductSearchRow(2L, "사과", "과일"),
+                new ProductSearchRow(3L, "청송 사과 5kg", "과일"),
+                new ProductSearchRow(4L, "사과나무 묘목", "원예"),
+                new ProductSearchRow(5L, "Apple Juice", "음료")));
+        index = new ProductSearchIndex(productRepository, mock(RedisTemplate.class), transactionManager);
+        index.build();
+    }
+
+    private Product product(Long id, String name, String category) {
+        return Product.builder().id(id).name(name).category(category).price(1000).stockQuantity(1).build();
+    }
+
+    @Test
+    void searchesByIdOrder() {
+        assertThat(index.search("사과", null, ProductSearchIndex.Order.ID_ASC)).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(index.search("사과", null, ProductSearchIndex.Order.ID_DESC)).containsExactly(4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void ranksByRelevance() {
+        // 상품명 일치 -> 상품명이 검색어로 시작 -> 단어가 검색어로 시작(앞쪽 위치, 짧은 이름 순)
+        assertThat(index.search("사과", null, ProductSearchIndex.Order.RELEVANCE)).containsExactly(2L, 4L, 3L, 1L);
+    }
+
+    @Test
+    void matchesWholeQueryIgnoringCaseAndFiltersCategory() {
+        assertThat(index.search("JUICE", null, ProductSearchIndex.Order.ID_ASC)).containsExactly(5L);
+        assertThat(index.search("사과", "과일", ProductSearchIndex.Order.ID_ASC)).containsExactly(2L, 3L);
+        // 2글자 조각은 모두 있지만 연속해서 포함되지 않는 경우
+        assertThat(index.search("과 사과", null, ProductSearchIndex.Order.ID_ASC)).isEmpty();
+        // 색인 단위보다 짧은 검색어는 db 검색
+        assertThat(index.search("사", null, ProductSearchIndex.Order.ID_ASC)).isNull();
+    }
+
+    @Test
+    void updateReplacesOldPostings() {
+        index.update(product(2L, "배", "과일"));
+        index.update(product(0L, "사과 잼", "식품"));
+
+        assertThat(index.search("사과", null, ProductSearchIndex.Order.ID_ASC)).containsExactly(0L, 1L, 3L, 4L);
+    }
+
+    @Test
+    void reloadsChangedProductsFromPrimary() {
+        when(productRepository.findAllById(List.of(3L))).thenReturn(List.of(product(3L, "청송 배 5kg", "과일")));
+
+        index.onMessage(new DefaultMessage("product-search-index".getBytes(StandardCharsets.UTF_8),
+                "3".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(index.search("사과", null, ProductSearchIndex.Order.ID_ASC)).containsExactly(1L, 2L, 4L);
+        // 전체 생성은 읽기 db, 변경 반영은 primary db
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(2)).getTransaction(definitions.capture());
+        assertThat(definitions.getAllValues().get(0).isReadOnly()).isTrue();
+        assertThat(definitions.getAllValues().get(1).isReadOnly()).isFalse();
+    }
+}